@@ -0,0 +1,91 @@
+package com.manoela.blog.client;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker simples para chamadas a serviços externos.
+ * <p>
+ * Após uma sequência de falhas consecutivas o circuito abre e as chamadas passam a falhar
+ * imediatamente. Depois do tempo de espera, uma única chamada de teste é liberada: se tiver
+ * sucesso o circuito fecha, caso contrário volta a abrir.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    /**
+     * Estados possíveis do circuito.
+     */
+    public enum Estado {
+        /** Chamadas liberadas normalmente. */
+        FECHADO,
+        /** Chamadas rejeitadas até o fim do tempo de espera. */
+        ABERTO,
+        /** Uma chamada de teste em andamento decide se o circuito fecha ou reabre. */
+        MEIO_ABERTO
+    }
+
+    private final int limiteFalhas;
+    private final long esperaNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoDesde;
+
+    /**
+     * Cria um circuit breaker.
+     *
+     * @param limiteFalhas quantidade de falhas consecutivas que abre o circuito.
+     * @param espera       tempo em que o circuito permanece aberto antes de uma chamada de teste.
+     */
+    public CircuitBreaker(int limiteFalhas, Duration espera) {
+        this.limiteFalhas = limiteFalhas;
+        this.esperaNanos = espera.toNanos();
+    }
+
+    /**
+     * Verifica se uma chamada pode ser realizada.
+     *
+     * @return {@code true} se a chamada estiver liberada, {@code false} se o circuito estiver aberto.
+     */
+    public synchronized boolean permitirChamada() {
+        if (estado == Estado.FECHADO) {
+            return true;
+        }
+        // Libera a chamada de teste; se ela não retornar a tempo, uma nova é liberada após outra espera
+        if (System.nanoTime() - abertoDesde >= esperaNanos) {
+            estado = Estado.MEIO_ABERTO;
+            abertoDesde = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Registra uma chamada bem-sucedida, fechando o circuito.
+     */
+    public synchronized void registrarSucesso() {
+        falhasConsecutivas = 0;
+        estado = Estado.FECHADO;
+    }
+
+    /**
+     * Registra uma chamada com falha, abrindo o circuito se o limite for atingido
+     * ou se a falha ocorreu na chamada de teste.
+     */
+    public synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= limiteFalhas) {
+            estado = Estado.ABERTO;
+            abertoDesde = System.nanoTime();
+        }
+    }
+
+    /**
+     * Retorna o estado atual do circuito.
+     *
+     * @return estado do circuito.
+     */
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+}
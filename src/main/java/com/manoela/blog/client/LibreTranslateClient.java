@@ -1,16 +1,41 @@
 package com.manoela.blog.client;
 
+import com.manoela.blog.dto.TranslateLoteRequestDTO;
+import com.manoela.blog.dto.TranslateLoteResponseDTO;
 import com.manoela.blog.dto.TranslateRequestDTO;
 import com.manoela.blog.dto.TranslateResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Cliente para comunicação com a API externa LibreTranslate.
  * <p>
- * Fornece funcionalidade para traduzir textos entre idiomas especificados.
+ * Fornece funcionalidade para traduzir textos entre idiomas especificados,
+ * individualmente ou em lote.
+ * </p>
+ * <p>
+ * As chamadas passam por um bulkhead, que limita as traduções simultâneas em andamento,
+ * e por um {@link CircuitBreaker}, que rejeita chamadas imediatamente enquanto o servidor
+ * estiver falhando. Em ambos os casos a tradução retorna {@code null}, como em um erro da API.
  * </p>
  */
 @Component
@@ -22,7 +47,62 @@ public class LibreTranslateClient {
     @Value("${libretranslate.url}")
     private String apiUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /**
+     * Quantidade máxima de caracteres enviados em uma única requisição de lote.
+     */
+    @Value("${libretranslate.lote.max-caracteres:5000}")
+    private int maxCaracteresPorLote;
+
+    /**
+     * Quantidade máxima de textos enviados em uma única requisição de lote.
+     */
+    @Value("${libretranslate.lote.max-textos:50}")
+    private int maxTextosPorLote;
+
+    /**
+     * Quantidade máxima de lotes de uma mesma tradução enviados ao mesmo tempo.
+     */
+    @Value("${libretranslate.lote.paralelismo:4}")
+    private int paralelismo;
+
+    /**
+     * Tempo máximo, em milissegundos, aguardando uma vaga no bulkhead.
+     */
+    @Value("${libretranslate.bulkhead.espera-ms:500}")
+    private long esperaBulkhead;
+
+    private final RestTemplate restTemplate;
+    private final AsyncTaskExecutor loteExecutor;
+    private final Semaphore bulkhead;
+    private final int maxChamadasSimultaneas;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter chamadasSucesso;
+    private final Counter chamadasFalha;
+    private final Counter chamadasRejeitadas;
+
+    public LibreTranslateClient(@Qualifier("libreTranslateRestTemplate") RestTemplate restTemplate,
+                                @Qualifier("libreTranslateLoteExecutor") AsyncTaskExecutor loteExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${libretranslate.bulkhead.max-chamadas:10}") int maxChamadasSimultaneas,
+                                @Value("${libretranslate.circuito.limite-falhas:5}") int limiteFalhas,
+                                @Value("${libretranslate.circuito.espera-ms:30000}") long esperaCircuito) {
+        this.restTemplate = restTemplate;
+        this.loteExecutor = loteExecutor;
+        this.bulkhead = new Semaphore(maxChamadasSimultaneas);
+        this.maxChamadasSimultaneas = maxChamadasSimultaneas;
+        this.circuitBreaker = new CircuitBreaker(limiteFalhas, Duration.ofMillis(esperaCircuito));
+
+        this.chamadasSucesso = contador(meterRegistry, "sucesso");
+        this.chamadasFalha = contador(meterRegistry, "falha");
+        this.chamadasRejeitadas = contador(meterRegistry, "rejeitada");
+        Gauge.builder("libretranslate.bulkhead.em_andamento", this,
+                        c -> c.maxChamadasSimultaneas - c.bulkhead.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("libretranslate.circuito.estado", circuitBreaker, c -> c.getEstado().ordinal())
+                .description("0 = fechado, 1 = aberto, 2 = meio aberto")
+                .register(meterRegistry);
+    }
 
     /**
      * Realiza a tradução de um texto de um idioma de origem para um idioma de destino.
@@ -36,13 +116,144 @@ public class LibreTranslateClient {
     public String traduzir(String texto, String sourceLang, String targetLang) {
         TranslateRequestDTO request = new TranslateRequestDTO(texto, sourceLang, targetLang, "text");
 
-        TranslateResponseDTO response;
+        TranslateResponseDTO response = postar(request, TranslateResponseDTO.class);
+        return response != null ? response.translatedText() : null;
+    }
+
+    /**
+     * Traduz vários textos de um idioma de origem para um idioma de destino.
+     * <p>
+     * Os textos são agrupados em lotes que respeitam o limite de caracteres e de textos por requisição,
+     * e cada lote é enviado em uma única chamada à API. Um texto maior que o limite é enviado sozinho.
+     * Quando há vários lotes, até {@code libretranslate.lote.paralelismo} deles são enviados ao mesmo tempo
+     * e os resultados são remontados na ordem original.
+     * </p>
+     *
+     * @param textos     Textos originais a serem traduzidos.
+     * @param sourceLang Código do idioma de origem (ex: "en").
+     * @param targetLang Código do idioma de destino (ex: "pt").
+     * @return Textos traduzidos na mesma ordem dos originais, ou {@code null} caso algum lote falhe.
+     */
+    public List<String> traduzirLote(List<String> textos, String sourceLang, String targetLang) {
+        List<List<String>> lotes = dividirEmLotes(textos);
+        List<List<String>> resultados = new ArrayList<>(lotes.size());
+        for (int i = 0; i < lotes.size(); i++) {
+            resultados.add(null);
+        }
+
+        AtomicInteger proximo = new AtomicInteger();
+        AtomicBoolean falhou = new AtomicBoolean();
+        Runnable enviarPendentes = () -> {
+            int i;
+            while (!falhou.get() && (i = proximo.getAndIncrement()) < lotes.size()) {
+                List<String> resultado = enviarLote(lotes.get(i), sourceLang, targetLang);
+                if (resultado == null) {
+                    falhou.set(true);
+                }
+                resultados.set(i, resultado);
+            }
+        };
+
+        // A thread atual também envia lotes; as auxiliares só existem quando há mais de um lote
+        List<CompletableFuture<Void>> auxiliares = new ArrayList<>();
+        for (int k = 1; k < Math.min(paralelismo, lotes.size()); k++) {
+            try {
+                auxiliares.add(loteExecutor.submitCompletable(enviarPendentes));
+            } catch (TaskRejectedException e) {
+                break;
+            }
+        }
+        enviarPendentes.run();
+        auxiliares.forEach(CompletableFuture::join);
+
+        if (falhou.get()) {
+            return null;
+        }
+        List<String> traduzidos = new ArrayList<>(textos.size());
+        resultados.forEach(traduzidos::addAll);
+        return traduzidos;
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private List<String> enviarLote(List<String> lote, String sourceLang, String targetLang) {
+        TranslateLoteRequestDTO request = new TranslateLoteRequestDTO(lote, sourceLang, targetLang, "text");
+
+        TranslateLoteResponseDTO response = postar(request, TranslateLoteResponseDTO.class);
+        if (response == null || response.translatedText() == null || response.translatedText().size() != lote.size()) {
+            return null;
+        }
+        return response.translatedText();
+    }
+
+    private <T> T postar(Object request, Class<T> tipoResposta) {
+        if (!circuitBreaker.permitirChamada()) {
+            chamadasRejeitadas.increment();
+            return null;
+        }
+
         try {
-            response = restTemplate.postForObject(apiUrl + "/translate", request, TranslateResponseDTO.class);
+            if (!bulkhead.tryAcquire(esperaBulkhead, TimeUnit.MILLISECONDS)) {
+                chamadasRejeitadas.increment();
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        try {
+            T response = restTemplate.postForObject(apiUrl + "/translate", request, tipoResposta);
+            circuitBreaker.registrarSucesso();
+            chamadasSucesso.increment();
+            return response;
+        } catch (HttpClientErrorException e) {
+            // 408 e 429 indicam serviço sobrecarregado; os demais erros 4xx recusam apenas o pedido
+            int status = e.getStatusCode().value();
+            if (status == HttpStatus.REQUEST_TIMEOUT.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                circuitBreaker.registrarFalha();
+            } else {
+                circuitBreaker.registrarSucesso();
+            }
+            chamadasFalha.increment();
+            return null;
         } catch (RestClientException e) {
+            // Erros 5xx, tempos esgotados e falhas de conexão
+            circuitBreaker.registrarFalha();
+            chamadasFalha.increment();
             return null;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private List<List<String>> dividirEmLotes(List<String> textos) {
+        List<List<String>> lotes = new ArrayList<>();
+        List<String> atual = new ArrayList<>();
+        int caracteres = 0;
+
+        for (String texto : textos) {
+            boolean excedeLimite = caracteres + texto.length() > maxCaracteresPorLote
+                    || atual.size() >= maxTextosPorLote;
+            if (!atual.isEmpty() && excedeLimite) {
+                lotes.add(atual);
+                atual = new ArrayList<>();
+                caracteres = 0;
+            }
+            atual.add(texto);
+            caracteres += texto.length();
         }
 
-        return response != null ? response.translatedText() : null;
+        if (!atual.isEmpty()) {
+            lotes.add(atual);
+        }
+        return lotes;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("libretranslate.chamadas")
+                .description("Chamadas à API LibreTranslate por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,119 @@
+package com.manoela.blog.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Configuração do transporte HTTP usado pelo cliente da API LibreTranslate.
+ *
+ * <p>
+ * Substitui a fábrica padrão do JDK, que abre uma conexão por requisição e não possui timeouts,
+ * por um pool de conexões persistentes (keep-alive) do Apache HttpClient com tempos limite
+ * configuráveis. O estado do pool é exportado como métricas.
+ * </p>
+ *
+ * @author Manoela Fernandes
+ * @since 1.0
+ */
+@Configuration
+public class LibreTranslateConfig {
+
+    /**
+     * Cria o pool de conexões com a API LibreTranslate.
+     *
+     * @param maxConexoes    quantidade máxima de conexões abertas com o servidor.
+     * @param timeoutConexao tempo limite, em milissegundos, para estabelecer uma conexão.
+     * @param timeoutLeitura tempo limite, em milissegundos, aguardando dados da resposta.
+     * @param meterRegistry  registro de métricas da aplicação.
+     * @return Instância configurada de {@link PoolingHttpClientConnectionManager}.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager libreTranslateConnectionManager(
+            @Value("${libretranslate.http.max-conexoes:20}") int maxConexoes,
+            @Value("${libretranslate.http.timeout-conexao-ms:2000}") long timeoutConexao,
+            @Value("${libretranslate.http.timeout-leitura-ms:15000}") long timeoutLeitura,
+            MeterRegistry meterRegistry) {
+
+        PoolingHttpClientConnectionManager gerenciador = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexoes)
+                .setMaxConnPerRoute(maxConexoes)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexao))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutLeitura))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        registrarMetrica(meterRegistry, "libretranslate.pool.alugadas", gerenciador, g -> g.getTotalStats().getLeased());
+        registrarMetrica(meterRegistry, "libretranslate.pool.disponiveis", gerenciador, g -> g.getTotalStats().getAvailable());
+        registrarMetrica(meterRegistry, "libretranslate.pool.pendentes", gerenciador, g -> g.getTotalStats().getPending());
+        registrarMetrica(meterRegistry, "libretranslate.pool.maximo", gerenciador, g -> g.getTotalStats().getMax());
+
+        return gerenciador;
+    }
+
+    /**
+     * Cria o {@link RestTemplate} usado pelo cliente LibreTranslate sobre o pool de conexões.
+     *
+     * @param gerenciador          pool de conexões com a API.
+     * @param timeoutAguardandoPool tempo limite, em milissegundos, aguardando uma conexão livre no pool.
+     * @return Instância configurada de {@link RestTemplate}.
+     */
+    @Bean
+    public RestTemplate libreTranslateRestTemplate(
+            PoolingHttpClientConnectionManager gerenciador,
+            @Value("${libretranslate.http.timeout-pool-ms:1000}") long timeoutAguardandoPool) {
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(gerenciador)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutAguardandoPool))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Cria o executor usado para enviar ao mesmo tempo os lotes de um texto longo.
+     *
+     * <p>
+     * É separado do executor de tradução por idioma, pois as tarefas daquele executor aguardam
+     * os lotes enviados por este; compartilhar o mesmo limite poderia bloquear ambos.
+     * </p>
+     *
+     * @param maxConexoes quantidade máxima de conexões abertas com o servidor, usada como limite de envios simultâneos.
+     * @return Instância configurada de {@link SimpleAsyncTaskExecutor}.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor libreTranslateLoteExecutor(
+            @Value("${libretranslate.http.max-conexoes:20}") int maxConexoes) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("libretranslate-lote-");
+        executor.setVirtualThreads(Runtime.version().feature() >= 21);
+        executor.setConcurrencyLimit(maxConexoes);
+        return executor;
+    }
+
+    private static void registrarMetrica(MeterRegistry meterRegistry, String nome,
+                                         PoolingHttpClientConnectionManager gerenciador,
+                                         ToDoubleFunction<PoolingHttpClientConnectionManager> valor) {
+        Gauge.builder(nome, gerenciador, valor).register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.manoela.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuração da infraestrutura de tradução em segundo plano.
+ *
+ * <p>
+ * Define o pool limitado de threads que processa a fila de traduções,
+ * isolando as chamadas à API LibreTranslate das threads que atendem requisições HTTP,
+ * e o executor usado para traduzir os idiomas alvo de uma postagem em paralelo.
+ * </p>
+ *
+ * @author Manoela Fernandes
+ * @since 1.0
+ */
+@Configuration
+public class TraducaoConfig {
+
+    /**
+     * Cria o pool de threads usado pelos workers da fila de traduções.
+     *
+     * <p>
+     * O tamanho do pool e a capacidade da fila interna são limitados; quando ambos estão
+     * ocupados, novas tarefas permanecem pendentes no banco até o próximo ciclo.
+     * </p>
+     *
+     * @param threads    quantidade de threads do pool.
+     * @param capacidade quantidade de tarefas aguardando uma thread livre.
+     * @return Instância configurada de {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean(name = "traducaoExecutor")
+    public ThreadPoolTaskExecutor traducaoExecutor(@Value("${traducao.fila.threads:4}") int threads,
+                                                   @Value("${traducao.fila.capacidade:50}") int capacidade) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidade);
+        executor.setThreadNamePrefix("traducao-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Cria o executor usado para traduzir todos os idiomas alvo de uma postagem ao mesmo tempo.
+     *
+     * <p>
+     * Em Java 21 ou superior cada tradução roda em uma virtual thread; nas versões anteriores
+     * são usadas threads comuns. Em ambos os casos o número de traduções simultâneas é limitado.
+     * </p>
+     *
+     * @param limite quantidade máxima de traduções simultâneas.
+     * @return Instância configurada de {@link SimpleAsyncTaskExecutor}.
+     */
+    @Bean(name = "traducaoFanOutExecutor")
+    public SimpleAsyncTaskExecutor traducaoFanOutExecutor(@Value("${traducao.fanout.limite:32}") int limite) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("traducao-fanout-");
+        executor.setVirtualThreads(Runtime.version().feature() >= 21);
+        executor.setConcurrencyLimit(limite);
+        return executor;
+    }
+}
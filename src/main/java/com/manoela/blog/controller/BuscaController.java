@@ -0,0 +1,41 @@
+package com.manoela.blog.controller;
+
+import com.manoela.blog.dto.ResultadoBuscaDTO;
+import com.manoela.blog.security.CustomUserDetails;
+import com.manoela.blog.service.BuscaService;
+import com.manoela.blog.util.IdiomaUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller da busca textual de postagens, no idioma do usuário.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private static final int LIMITE_MAXIMO = 50;
+
+    private final BuscaService buscaService;
+
+    /**
+     * Busca postagens pelo título e conteúdo.
+     *
+     * @param consulta    texto da busca.
+     * @param limite      quantidade máxima de resultados (até 50).
+     * @param userDetails dados do usuário autenticado (opcional).
+     * @return postagens encontradas, da mais relevante para a menos relevante.
+     */
+    @GetMapping("/busca")
+    public List<ResultadoBuscaDTO> buscar(@RequestParam("q") String consulta,
+                                          @RequestParam(value = "limite", defaultValue = "10") int limite,
+                                          @AuthenticationPrincipal CustomUserDetails userDetails) {
+        String idUsuarioLogado = userDetails != null ? userDetails.getId() : null;
+        return buscaService.buscar(consulta, IdiomaUtil.getIdiomaAtual(),
+                Math.max(1, Math.min(limite, LIMITE_MAXIMO)), idUsuarioLogado);
+    }
+}
@@ -2,6 +2,7 @@ package com.manoela.blog.controller;
 
 import com.manoela.blog.service.CurtidaService;
 import com.manoela.blog.security.CustomUserDetails;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -37,11 +38,67 @@ public class CurtidaController {
         }
 
         boolean curtido = curtidaService.toggleCurtida(userDetails.getId(), id);
-        int totalCurtidas = curtidaService.totalCurtidas(id);
+        return resposta(id, curtido);
+    }
+
+    /**
+     * Curte uma postagem pelo usuário autenticado. Idempotente: repetir o pedido mantém uma única curtida.
+     *
+     * @param id          ID da postagem a curtir.
+     * @param userDetails Dados do usuário autenticado.
+     * @return ResponseEntity com o estado da curtida e total de curtidas.
+     */
+    @PutMapping("/{id}/curtida")
+    public ResponseEntity<?> curtir(@PathVariable String id,
+                                    @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Usuário não autenticado."));
+        }
+
+        curtidaService.curtir(userDetails.getId(), id);
+        return resposta(id, true);
+    }
+
+    /**
+     * Remove a curtida do usuário autenticado em uma postagem. Idempotente: repetir o pedido não altera o total.
+     *
+     * @param id          ID da postagem a descurtir.
+     * @param userDetails Dados do usuário autenticado.
+     * @return ResponseEntity com o estado da curtida e total de curtidas.
+     */
+    @DeleteMapping("/{id}/curtida")
+    public ResponseEntity<?> descurtir(@PathVariable String id,
+                                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Usuário não autenticado."));
+        }
+
+        curtidaService.descurtir(userDetails.getId(), id);
+        return resposta(id, false);
+    }
+
+    /**
+     * Responde 404 quando a postagem curtida ou descurtida não existe.
+     *
+     * @param e exceção lançada pelo serviço de curtidas.
+     * @return ResponseEntity com a mensagem de erro.
+     */
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> postagemNaoEncontrada(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Postagem não encontrada."));
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
 
+    private ResponseEntity<?> resposta(String postagemId, boolean curtido) {
         return ResponseEntity.ok(Map.of(
                 "curtido", curtido,
-                "totalCurtidas", totalCurtidas
+                "totalCurtidas", curtidaService.totalCurtidas(postagemId)
         ));
     }
 }
@@ -0,0 +1,89 @@
+package com.manoela.blog.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.security.CustomUserDetails;
+import com.manoela.blog.service.CartaoPostagemService;
+import com.manoela.blog.service.PostagemService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller do feed de postagens em JSON, usado pela rolagem infinita da página do feed.
+ * <p>
+ * As postagens são escritas na resposta à medida que são lidas do banco, de forma que a memória
+ * usada por requisição não dependa da quantidade de postagens solicitada.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class FeedApiController {
+
+    private final PostagemService postagemService;
+    private final CartaoPostagemService cartaoPostagemService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escreve uma página do feed em JSON, no formato {@code {"postagens": [...], "proximoCursor": "..."}}.
+     * Cada postagem inclui, no campo {@code html}, o cartão do feed renderizado pelo mesmo fragmento da página,
+     * para que a rolagem infinita não mantenha uma cópia da marcação do cartão.
+     *
+     * @param categoriaId ID da categoria para filtro (opcional).
+     * @param cursor      cursor da página anterior, retornado pela chamada anterior (opcional).
+     * @param limite      quantidade de postagens desejada.
+     * @param userDetails dados do usuário autenticado (opcional).
+     * @param response    resposta HTTP, escrita diretamente.
+     * @throws IOException se ocorrer erro ao escrever a resposta.
+     */
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void feed(@RequestParam(value = "categoria", required = false) Integer categoriaId,
+                     @RequestParam(value = "cursor", required = false) String cursor,
+                     @RequestParam(value = "limite", defaultValue = "20") int limite,
+                     @AuthenticationPrincipal CustomUserDetails userDetails,
+                     HttpServletResponse response) throws IOException {
+        String idUsuarioLogado = userDetails != null ? userDetails.getId() : null;
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            gerador.writeStartObject();
+            gerador.writeArrayFieldStart("postagens");
+
+            String proximoCursor;
+            try {
+                proximoCursor = postagemService.percorrerFeed(categoriaId, idUsuarioLogado, cursor, limite,
+                        postagem -> escrever(gerador, postagem, cartaoPostagemService.renderizarFeed(postagem)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            gerador.writeEndArray();
+            gerador.writeStringField("proximoCursor", proximoCursor);
+            gerador.writeEndObject();
+        }
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void escrever(JsonGenerator gerador, PostagemResumoDTO postagem, String html) {
+        try {
+            ObjectNode item = objectMapper.valueToTree(postagem);
+            item.put("html", html);
+            gerador.writeTree(item);
+        } catch (IOException e) {
+            // Cliente desconectado: interrompe a leitura do banco
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.manoela.blog.controller;
 
 import com.manoela.blog.domain.postagem.Postagem;
 import com.manoela.blog.dto.PostagemCreateDTO;
+import com.manoela.blog.dto.PaginaFeedDTO;
 import com.manoela.blog.dto.PostagemDTO;
 import com.manoela.blog.dto.PostagemEditDTO;
 import com.manoela.blog.security.CustomUserDetails;
 import com.manoela.blog.security.SecurityUtil;
 import com.manoela.blog.service.*;
+import com.manoela.blog.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
@@ -16,9 +18,9 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.Locale;
 
 @Controller
@@ -26,32 +28,61 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class PostagemController {
 
+    private static final String ORDEM_TENDENCIAS = "tendencias";
+    private static final String ORDEM_PARA_VOCE = "para-voce";
+
     private final PostagemService postagemService;
     private final UsuarioService usuarioService;
     private final CategoriaService categoriaService;
     private final TraducaoService traducaoService;
     private final SecurityUtil securityUtil;
     private final MessageSource messageSource;
+    private final VersaoConteudoService versaoConteudoService;
 
     /**
-     * Exibe o feed de postagens, opcionalmente filtrado por categoria.
+     * Exibe o feed de postagens, opcionalmente filtrado por categoria, das mais recentes,
+     * com {@code ordem=tendencias} das mais curtidas recentemente ou, para usuários autenticados,
+     * com {@code ordem=para-voce} das recomendadas pelas categorias que o usuário curte.
+     * Responde 304 (Not Modified) se o cliente já possui a versão atual do feed.
      *
      * @param categoriaId  ID da categoria para filtro (opcional).
+     * @param cursor       cursor da página anterior do feed (opcional).
+     * @param ordem        {@code tendencias} ou {@code para-voce} (opcional).
      * @param model        modelo para view.
      * @param userDetails  dados do usuário autenticado (opcional).
-     * @return nome da view do feed de postagens.
+     * @param webRequest   requisição atual, para a verificação condicional.
+     * @return nome da view do feed de postagens, ou {@code null} se não houve modificação.
      */
     @GetMapping("/feed")
     public String feed(@RequestParam(value = "categoria", required = false) Integer categoriaId,
+                       @RequestParam(value = "cursor", required = false) String cursor,
+                       @RequestParam(value = "ordem", required = false) String ordem,
                        Model model,
-                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+                       @AuthenticationPrincipal CustomUserDetails userDetails,
+                       ServletWebRequest webRequest) {
         String idUsuarioLogado = userDetails != null ? userDetails.getId() : null;
+        if (RespostaCondicional.naoModificada(webRequest, versaoConteudoService.versaoListagens(), idUsuarioLogado)) {
+            return null;
+        }
 
-        List<PostagemDTO> postagens = categoriaId != null ?
-                postagemService.buscarPostagensPorCategoria(categoriaId, idUsuarioLogado) :
-                postagemService.buscarPostagens(idUsuarioLogado);
+        boolean tendencias = ORDEM_TENDENCIAS.equals(ordem);
+        boolean paraVoce = ORDEM_PARA_VOCE.equals(ordem) && idUsuarioLogado != null && categoriaId == null;
+        PaginaFeedDTO pagina;
+        if (tendencias) {
+            pagina = postagemService.buscarTendencias(categoriaId, idUsuarioLogado);
+        } else if (paraVoce) {
+            pagina = postagemService.buscarParaVoce(idUsuarioLogado);
+        } else if (categoriaId != null) {
+            pagina = postagemService.buscarPostagensPorCategoria(categoriaId, idUsuarioLogado, cursor);
+        } else {
+            pagina = postagemService.buscarPostagens(idUsuarioLogado, cursor);
+        }
 
-        model.addAttribute("postagens", postagens);
+        model.addAttribute("postagens", pagina.getPostagens());
+        model.addAttribute("proximoCursor", pagina.getProximoCursor());
+        model.addAttribute("categoriaId", categoriaId);
+        model.addAttribute("tendencias", tendencias);
+        model.addAttribute("paraVoce", paraVoce);
         return "postagem/feed";
     }
 
@@ -107,27 +138,35 @@ public class PostagemController {
 
     /**
      * Exibe detalhes de uma postagem específica.
+     * Responde 304 (Not Modified) se o cliente já possui a versão atual da postagem.
      *
      * @param id                 ID da postagem.
      * @param model              modelo para view.
      * @param userDetails        dados do usuário autenticado (opcional).
      * @param redirectAttributes atributos para mensagens no redirecionamento.
      * @param locale             localidade atual para mensagens.
-     * @return nome da view de detalhes ou redirecionamento em caso de erro.
+     * @param webRequest         requisição atual, para a verificação condicional.
+     * @return nome da view de detalhes, {@code null} se não houve modificação, ou redirecionamento em caso de erro.
      */
     @GetMapping("/{id}/show")
     public String mostrarPostagem(@PathVariable String id,
                                   Model model,
                                   @AuthenticationPrincipal CustomUserDetails userDetails,
                                   RedirectAttributes redirectAttributes,
-                                  Locale locale) {
+                                  Locale locale,
+                                  ServletWebRequest webRequest) {
+        String idUsuarioLogado = userDetails != null ? userDetails.getId() : null;
+        if (RespostaCondicional.naoModificada(webRequest, versaoConteudoService.versaoPostagem(id), idUsuarioLogado)) {
+            return null;
+        }
+
         try {
             Postagem postagem = postagemService.buscarPostagemPorId(id);
 
-            PostagemDTO dto = postagemService.converterParaDTO(postagem,
-                    userDetails != null ? userDetails.getId() : null);
+            PostagemDTO dto = postagemService.converterParaDTO(postagem, idUsuarioLogado);
 
             model.addAttribute("postagem", dto);
+            model.addAttribute("relacionadas", postagemService.buscarRelacionadas(postagem));
             return "postagem/show";
 
         } catch (Exception e) {
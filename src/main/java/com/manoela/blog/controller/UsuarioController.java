@@ -2,12 +2,14 @@ package com.manoela.blog.controller;
 
 import com.manoela.blog.domain.usuario.Usuario;
 import com.manoela.blog.dto.CategoriaGraficoDTO;
-import com.manoela.blog.dto.PostagemDTO;
+import com.manoela.blog.dto.PostagemResumoDTO;
 import com.manoela.blog.dto.UsuarioEditDTO;
 import com.manoela.blog.security.SecurityUtil;
 import com.manoela.blog.service.CurtidaService;
 import com.manoela.blog.service.PostagemService;
 import com.manoela.blog.service.UsuarioService;
+import com.manoela.blog.service.VersaoConteudoService;
+import com.manoela.blog.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
@@ -35,29 +38,34 @@ public class UsuarioController {
     private final CurtidaService curtidaService;
     private final MessageSource messageSource;
     private final SecurityUtil securityUtil;
+    private final VersaoConteudoService versaoConteudoService;
 
     /**
      * Exibe o perfil do usuário pelo ID.
+     * Responde 304 (Not Modified) se o cliente já possui a versão atual do perfil.
      *
-     * @param id    ID do usuário cujo perfil será exibido.
-     * @param model modelo para a view.
-     * @return nome da view de perfil.
+     * @param id         ID do usuário cujo perfil será exibido.
+     * @param model      modelo para a view.
+     * @param webRequest requisição atual, para a verificação condicional.
+     * @return nome da view de perfil, ou {@code null} se não houve modificação.
      */
     @GetMapping("/{id}")
-    public String perfil(@PathVariable String id, Model model) {
-        Usuario donoPerfil = usuarioService.buscarUsuarioPorId(id);
-        Locale locale = LocaleContextHolder.getLocale();
-
-        boolean isOwner = false;
+    public String perfil(@PathVariable String id, Model model, ServletWebRequest webRequest) {
         String idUsuarioLogado = null;
         try {
             idUsuarioLogado = securityUtil.getIdUsuarioLogado();
-            isOwner = securityUtil.isDono(donoPerfil.getId());
         } catch (SecurityException ignored) {
         }
+        if (RespostaCondicional.naoModificada(webRequest, versaoConteudoService.versaoListagens(), idUsuarioLogado)) {
+            return null;
+        }
+
+        Usuario donoPerfil = usuarioService.buscarUsuarioPorId(id);
+        Locale locale = LocaleContextHolder.getLocale();
+        boolean isOwner = idUsuarioLogado != null && securityUtil.isDono(donoPerfil.getId());
 
         String idiomaAtual = locale.toLanguageTag();
-        List<PostagemDTO> postagensDTO = postagemService
+        List<PostagemResumoDTO> postagensDTO = postagemService
                 .buscarPostagensDoUsuario(donoPerfil.getId(), idiomaAtual, idUsuarioLogado);
 
         model.addAttribute("usuario", donoPerfil);
@@ -48,6 +48,12 @@ public class Postagem {
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
+    /**
+     * Idioma em que o autor escreveu a postagem, usado como origem das traduções.
+     */
+    @Column(name = "idioma_origem", length = 5)
+    private String idiomaOrigem;
+
     /**
      * Data e hora em que a postagem foi criada.
      * Preenchido automaticamente e não pode ser alterado.
@@ -63,4 +69,11 @@ public class Postagem {
     @LastModifiedDate
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
+
+    /**
+     * Total de curtidas da postagem, incrementado pelo banco na mesma transação de cada curtida.
+     * Não é gravado pela entidade, para que a edição da postagem não sobrescreva curtidas simultâneas.
+     */
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+    private long totalCurtidas;
 }
@@ -3,6 +3,8 @@ package com.manoela.blog.domain.postagem;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Entidade que representa a tradução de uma postagem em um idioma específico.
  * Utiliza uma chave composta {@link PostagemTraducaoId} formada pelo ID da postagem e o idioma.
@@ -43,4 +45,25 @@ public class PostagemTraducao {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String conteudo;
 
+    /**
+     * Início do conteúdo traduzido, exibido nas listagens de postagens.
+     * Gravado junto com o conteúdo, para que as listagens não leiam o texto completo.
+     */
+    @Column(nullable = false, length = 300)
+    private String resumo;
+
+    /**
+     * Indica que a linha ainda guarda o texto no idioma de origem,
+     * aguardando a tradução ser processada em segundo plano.
+     */
+    @Column(nullable = false)
+    private boolean provisoria;
+
+    /**
+     * Data e hora da última alteração da tradução, atualizada pelo banco.
+     * Uma tradução concluída depois da postagem não altera a data de atualização da postagem.
+     */
+    @Column(name = "data_atualizacao", insertable = false, updatable = false)
+    private LocalDateTime dataAtualizacao;
+
 }
@@ -0,0 +1,44 @@
+package com.manoela.blog.domain.traducao;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada da memória de tradução.
+ * <p>
+ * Guarda o resultado de uma tradução já realizada, identificado pelo hash do texto de origem
+ * e pelo par de idiomas, para que o mesmo texto não seja enviado novamente à API de tradução.
+ * </p>
+ */
+@Entity
+@Table(name = "memoria_traducao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class MemoriaTraducao {
+
+    /**
+     * Chave composta formada pelo hash do texto de origem e pelo par de idiomas.
+     */
+    @EmbeddedId
+    private MemoriaTraducaoId id;
+
+    /**
+     * Texto traduzido.
+     * Mapeado como TEXT para suportar textos longos no banco.
+     */
+    @Column(name = "texto_traduzido", nullable = false, columnDefinition = "TEXT")
+    private String textoTraduzido;
+
+    /**
+     * Data e hora em que a tradução foi registrada.
+     */
+    @CreatedDate
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+}
@@ -0,0 +1,36 @@
+package com.manoela.blog.domain.traducao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Classe que representa a chave composta para a entidade {@link MemoriaTraducao}.
+ * Consiste no hash do texto de origem e no par de idiomas da tradução.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemoriaTraducaoId implements Serializable {
+
+    /**
+     * Hash SHA-256, em hexadecimal, do texto de origem.
+     */
+    @Column(name = "hash")
+    private String hash;
+
+    /**
+     * Código do idioma do texto de origem (exemplo: "pt-BR").
+     */
+    @Column(name = "idioma_origem")
+    private String idiomaOrigem;
+
+    /**
+     * Código do idioma da tradução (exemplo: "en").
+     */
+    @Column(name = "idioma_alvo")
+    private String idiomaAlvo;
+}
@@ -0,0 +1,17 @@
+package com.manoela.blog.domain.traducao;
+
+/**
+ * Estratégias para traduzir as postagens para os idiomas suportados.
+ */
+public enum ModoTraducao {
+
+    /**
+     * Todas as traduções são registradas na fila assim que a postagem é criada ou editada.
+     */
+    ANTECIPADO,
+
+    /**
+     * Cada tradução é feita apenas quando alguém lê a postagem naquele idioma.
+     */
+    SOB_DEMANDA
+}
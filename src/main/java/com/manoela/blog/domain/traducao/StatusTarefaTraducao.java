@@ -0,0 +1,27 @@
+package com.manoela.blog.domain.traducao;
+
+/**
+ * Estados possíveis de uma {@link TarefaTraducao} na fila de traduções.
+ */
+public enum StatusTarefaTraducao {
+
+    /**
+     * Tarefa registrada, ou com nova tentativa agendada, aguardando um worker disponível.
+     */
+    PENDENTE,
+
+    /**
+     * Tarefa reservada por um worker e em tradução.
+     */
+    EM_PROCESSAMENTO,
+
+    /**
+     * Tradução gravada com sucesso.
+     */
+    CONCLUIDA,
+
+    /**
+     * A tradução falhou em todas as tentativas permitidas e a tarefa não será processada novamente.
+     */
+    ERRO
+}
@@ -0,0 +1,91 @@
+package com.manoela.blog.domain.traducao;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada da fila de traduções (outbox) de uma postagem.
+ * <p>
+ * Cada tarefa representa a tradução de uma postagem do idioma de origem para um idioma alvo.
+ * As tarefas são gravadas na mesma transação da postagem e processadas em segundo plano,
+ * fora da requisição HTTP do autor.
+ * </p>
+ */
+@Entity
+@Table(name = "tarefa_traducao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class TarefaTraducao {
+
+    /**
+     * Identificador da tarefa, gerado pelo banco.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identificador da postagem a ser traduzida.
+     */
+    @Column(name = "postagem_id", nullable = false)
+    private String postagemId;
+
+    /**
+     * Idioma em que o autor escreveu a postagem.
+     */
+    @Column(name = "idioma_origem", nullable = false)
+    private String idiomaOrigem;
+
+    /**
+     * Idioma para o qual a postagem será traduzida.
+     */
+    @Column(name = "idioma_alvo", nullable = false)
+    private String idiomaAlvo;
+
+    /**
+     * Estado atual da tarefa.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusTarefaTraducao status;
+
+    /**
+     * Quantidade de tentativas de tradução já realizadas.
+     */
+    @Column(nullable = false)
+    private int tentativas;
+
+    /**
+     * Data e hora a partir da qual a tarefa pode ser processada novamente após uma falha.
+     * Nulo enquanto a tarefa não tiver falhado.
+     */
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    /**
+     * Motivo da última falha de tradução.
+     */
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    /**
+     * Data e hora em que a tarefa foi registrada.
+     */
+    @CreatedDate
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Data e hora da última mudança de estado da tarefa.
+     */
+    @LastModifiedDate
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
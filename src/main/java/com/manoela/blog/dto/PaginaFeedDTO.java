@@ -0,0 +1,25 @@
+package com.manoela.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO que representa uma página do feed de postagens.
+ * Contém as postagens da página e o cursor para buscar a próxima, quando houver.
+ */
+@Data
+@AllArgsConstructor
+public class PaginaFeedDTO {
+
+    /**
+     * Postagens da página, das mais recentes para as mais antigas.
+     */
+    private List<PostagemResumoDTO> postagens;
+
+    /**
+     * Cursor opaco da próxima página, ou {@code null} se esta for a última.
+     */
+    private String proximoCursor;
+}
@@ -0,0 +1,35 @@
+package com.manoela.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) que representa uma postagem na lista de postagens relacionadas,
+ * exibida na página de uma postagem.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostagemRelacionadaDTO {
+
+    /**
+     * Identificador único da postagem.
+     */
+    private String id;
+
+    /**
+     * Título da postagem no idioma da página.
+     */
+    private String titulo;
+
+    /**
+     * Nome ou caminho da imagem associada à postagem.
+     */
+    private String imagem;
+
+    /**
+     * Nome da categoria no idioma da página.
+     */
+    private String categoria;
+}
@@ -0,0 +1,91 @@
+package com.manoela.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) que representa o resumo de uma postagem exibido nas listagens
+ * (feed, feed por categoria e perfil do usuário).
+ * <p>
+ * É montado diretamente pela consulta, em um único comando SQL, com a tradução, o autor,
+ * a categoria e as curtidas da postagem. Contém apenas o início do conteúdo.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostagemResumoDTO {
+
+    /**
+     * Identificador único da postagem.
+     */
+    private String id;
+
+    /**
+     * Título da postagem no idioma da listagem.
+     */
+    private String titulo;
+
+    /**
+     * Início do conteúdo da postagem no idioma da listagem.
+     */
+    private String resumo;
+
+    /**
+     * Nome ou caminho da imagem associada à postagem.
+     */
+    private String imagem;
+
+    /**
+     * Data e hora em que a postagem foi criada.
+     */
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Quantidade total de curtidas da postagem.
+     */
+    private Long totalCurtidas;
+
+    /**
+     * Indica se o usuário logado curtiu a postagem.
+     */
+    private Boolean curtidoPeloUsuario;
+
+    /**
+     * Nome do autor da postagem.
+     */
+    private String username;
+
+    /**
+     * Foto do autor da postagem.
+     */
+    private String foto;
+
+    /**
+     * Identificador do autor da postagem.
+     */
+    private String usuarioId;
+
+    /**
+     * Nome da categoria no idioma da listagem.
+     */
+    private String categoria;
+
+    /**
+     * Identificador da categoria da postagem.
+     */
+    private Integer categoriaId;
+
+    /**
+     * Indica que a tradução ainda é provisória (texto no idioma de origem).
+     */
+    private Boolean provisoria;
+
+    /**
+     * Data e hora da última alteração da postagem.
+     */
+    private LocalDateTime dataAtualizacao;
+}
@@ -0,0 +1,22 @@
+package com.manoela.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) que representa uma postagem encontrada pela busca.
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoBuscaDTO {
+
+    /**
+     * Resumo da postagem encontrada.
+     */
+    private PostagemResumoDTO postagem;
+
+    /**
+     * Relevância da postagem para a consulta; maior é mais relevante.
+     */
+    private double pontuacao;
+}
@@ -0,0 +1,35 @@
+package com.manoela.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) com o título e o conteúdo de uma postagem em um idioma,
+ * usado para indexar as postagens na busca.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextoPostagemDTO {
+
+    /**
+     * Identificador da postagem.
+     */
+    private String postagemId;
+
+    /**
+     * Idioma do texto.
+     */
+    private String idioma;
+
+    /**
+     * Título da postagem no idioma.
+     */
+    private String titulo;
+
+    /**
+     * Conteúdo completo da postagem no idioma.
+     */
+    private String conteudo;
+}
@@ -0,0 +1,18 @@
+package com.manoela.blog.dto;
+
+import java.util.List;
+
+/**
+ * DTO para representar a requisição de tradução em lote enviada para a API.
+ *
+ * @param q      Textos a serem traduzidos, na ordem em que devem ser retornados.
+ * @param source Código do idioma de origem (exemplo: "en").
+ * @param target Código do idioma de destino (exemplo: "pt").
+ * @param format Formato dos textos (normalmente "text").
+ */
+public record TranslateLoteRequestDTO(
+        List<String> q,
+        String source,
+        String target,
+        String format
+) {}
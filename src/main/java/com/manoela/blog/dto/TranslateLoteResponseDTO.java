@@ -0,0 +1,11 @@
+package com.manoela.blog.dto;
+
+import java.util.List;
+
+/**
+ * DTO para representar a resposta da API de tradução em lote.
+ *
+ * @param translatedText Textos traduzidos, na mesma ordem dos textos enviados.
+ */
+public record TranslateLoteResponseDTO(List<String> translatedText) {
+}
@@ -0,0 +1,13 @@
+package com.manoela.blog.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado quando um usuário curte ou deixa de curtir uma postagem.
+ *
+ * @param postagemId  ID da postagem.
+ * @param usuarioId   ID do usuário.
+ * @param curtida     {@code true} se a curtida foi adicionada, {@code false} se foi removida.
+ * @param dataCurtida data em que a curtida adicionada ou removida foi feita.
+ */
+public record CurtidaAlteradaEvent(String postagemId, String usuarioId, boolean curtida, LocalDateTime dataCurtida) {}
@@ -0,0 +1,10 @@
+package com.manoela.blog.event;
+
+/**
+ * Evento publicado quando uma postagem é criada, editada, traduzida ou excluída.
+ * Usado para manter atualizadas as cópias em memória das listagens de postagens.
+ *
+ * @param postagemId ID da postagem alterada.
+ * @param excluida   {@code true} se a postagem foi excluída.
+ */
+public record PostagemAlteradaEvent(String postagemId, boolean excluida) {}
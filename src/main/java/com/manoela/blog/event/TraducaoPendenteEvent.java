@@ -0,0 +1,10 @@
+package com.manoela.blog.event;
+
+/**
+ * Evento publicado quando uma postagem é lida em um idioma cuja tradução ainda não foi feita,
+ * ou está desatualizada em relação ao texto de origem.
+ *
+ * @param postagemId ID da postagem lida.
+ * @param idioma     idioma em que a postagem foi lida.
+ */
+public record TraducaoPendenteEvent(String postagemId, String idioma) {}
@@ -0,0 +1,8 @@
+package com.manoela.blog.event;
+
+/**
+ * Evento publicado quando um usuário altera os dados do seu perfil.
+ *
+ * @param usuarioId ID do usuário alterado.
+ */
+public record UsuarioAlteradoEvent(String usuarioId) {}
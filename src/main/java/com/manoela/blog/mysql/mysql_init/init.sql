@@ -42,8 +42,12 @@ CREATE TABLE postagem (
                           imagem VARCHAR(255),
                           categoria_id INT,
                           usuario_id CHAR(36),
+                          idioma_origem VARCHAR(5),
                           data_criacao DATETIME DEFAULT CURRENT_TIMESTAMP,
                           data_atualizacao DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                          like_count BIGINT NOT NULL DEFAULT 0,
+                          INDEX idx_postagem_feed (data_criacao, id),
+                          INDEX idx_postagem_categoria_feed (categoria_id, data_criacao, id),
                           CONSTRAINT fk_postagem_categoria FOREIGN KEY (categoria_id) REFERENCES categoria(id)
                               ON DELETE SET NULL ON UPDATE CASCADE,
                           CONSTRAINT fk_postagem_usuario FOREIGN KEY (usuario_id) REFERENCES usuario(id)
@@ -56,11 +60,43 @@ CREATE TABLE postagem_traducao (
                                    idioma VARCHAR(5) NOT NULL,
                                    titulo VARCHAR(255) NOT NULL,
                                    conteudo TEXT NOT NULL,
+                                   resumo VARCHAR(300) NOT NULL DEFAULT '',
+                                   provisoria BOOLEAN NOT NULL DEFAULT FALSE,
+                                   data_atualizacao DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                                    PRIMARY KEY (postagem_id, idioma),
+                                   INDEX idx_postagem_traducao_atualizacao (data_atualizacao),
                                    CONSTRAINT fk_postagem_traducao_postagem FOREIGN KEY (postagem_id) REFERENCES postagem(id)
                                        ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Fila de traduções das postagens (outbox)
+CREATE TABLE tarefa_traducao (
+                                 id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                 postagem_id CHAR(36) NOT NULL,
+                                 idioma_origem VARCHAR(5) NOT NULL,
+                                 idioma_alvo VARCHAR(5) NOT NULL,
+                                 status VARCHAR(20) NOT NULL,
+                                 tentativas INT NOT NULL DEFAULT 0,
+                                 proxima_tentativa DATETIME,
+                                 ultimo_erro VARCHAR(500),
+                                 data_criacao DATETIME DEFAULT CURRENT_TIMESTAMP,
+                                 data_atualizacao DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                 INDEX idx_tarefa_traducao_status (status, data_criacao),
+                                 INDEX idx_tarefa_traducao_proxima (status, proxima_tentativa),
+                                 CONSTRAINT fk_tarefa_traducao_postagem FOREIGN KEY (postagem_id) REFERENCES postagem(id)
+                                     ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Memória de tradução (hash do texto de origem + par de idiomas)
+CREATE TABLE memoria_traducao (
+                                  hash CHAR(64) NOT NULL,
+                                  idioma_origem VARCHAR(5) NOT NULL,
+                                  idioma_alvo VARCHAR(5) NOT NULL,
+                                  texto_traduzido TEXT NOT NULL,
+                                  data_criacao DATETIME DEFAULT CURRENT_TIMESTAMP,
+                                  PRIMARY KEY (hash, idioma_origem, idioma_alvo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Tabela: comentario
 CREATE TABLE comentario (
                             id CHAR(36) PRIMARY KEY,
@@ -89,6 +125,7 @@ CREATE TABLE curtida (
                          postagem_id CHAR(36),
                          data_curtida DATETIME DEFAULT CURRENT_TIMESTAMP,
                          PRIMARY KEY (usuario_id, postagem_id),
+                         INDEX idx_curtida_data (data_curtida),
                          CONSTRAINT fk_curtida_usuario FOREIGN KEY (usuario_id) REFERENCES usuario(id)
                              ON DELETE CASCADE ON UPDATE CASCADE,
                          CONSTRAINT fk_curtida_postagem FOREIGN KEY (postagem_id) REFERENCES postagem(id)
@@ -232,6 +269,9 @@ INSERT INTO postagem_traducao (postagem_id, idioma, titulo, conteudo) VALUES
 ('49ae6f56-7d29-4a07-a08e-5c315a1f303c', 'en',    'The classroom of the future', 'How technology is shaping education.'),
 ('49ae6f56-7d29-4a07-a08e-5c315a1f303c', 'es',    'El aula del futuro', 'Cómo la tecnología está transformando la enseñanza.');
 
+-- Resumos exibidos nas listagens
+UPDATE postagem_traducao SET resumo = LEFT(conteudo, 300);
+
 INSERT INTO curtida (usuario_id, postagem_id) VALUES
 -- Ana curte postagens de Bruno e Carla
 ('7106fe58-02e0-4541-a3fa-f33d2b36b0d3', 'a3cfb49e-f191-4d3b-950b-d42a6e408b5f'),
@@ -258,3 +298,7 @@ INSERT INTO curtida (usuario_id, postagem_id) VALUES
 ('cfcbfd10-b1ec-4b5c-b899-09d4c3d3289f', '7fcd205e-b52d-4c3f-8120-e8a319a46b6a'),
 ('cfcbfd10-b1ec-4b5c-b899-09d4c3d3289f', '16dd0276-1c7d-49ff-8c53-bf82be6e6a9c');
 
+-- Totais de curtidas das postagens
+UPDATE postagem p
+SET p.like_count = (SELECT COUNT(*) FROM curtida c WHERE c.postagem_id = p.id),
+    p.data_atualizacao = p.data_atualizacao;
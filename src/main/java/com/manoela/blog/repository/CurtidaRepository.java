@@ -3,11 +3,17 @@ package com.manoela.blog.repository;
 import com.manoela.blog.domain.curtida.Curtida;
 import com.manoela.blog.domain.curtida.CurtidaId;
 import com.manoela.blog.dto.CategoriaQuantidadeDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade {@link Curtida}.
@@ -15,15 +21,6 @@ import java.util.List;
  */
 public interface CurtidaRepository extends JpaRepository<Curtida, CurtidaId> {
 
-    /**
-     * Conta o total de curtidas de uma postagem específica.
-     *
-     * @param postagemId ID da postagem.
-     * @return Total de curtidas na postagem.
-     */
-    @Query("SELECT COUNT(c) FROM Curtida c WHERE c.postagem.id = :postagemId")
-    long countByPostagemId(@Param("postagemId") String postagemId);
-
     /**
      * Verifica se uma postagem foi curtida por um usuário específico.
      *
@@ -35,18 +32,49 @@ public interface CurtidaRepository extends JpaRepository<Curtida, CurtidaId> {
     boolean existsByPostagemIdAndUsuarioId(@Param("postagemId") String postagemId, @Param("usuarioId") String usuarioId);
 
     /**
-     * Conta a quantidade de curtidas por cada postagem dentro de uma lista de IDs.
+     * Registra a curtida de um usuário em uma postagem em um único comando, sem carregar usuário e postagem.
+     * Se a curtida já existir, nada é alterado.
+     * <p>
+     * A verificação e a inserção formam um único comando, cuja quantidade de linhas afetadas não depende da
+     * configuração da conexão. Deve ser chamado com a postagem bloqueada
+     * ({@link PostagemRepository#bloquearPostagem}), para que curtidas simultâneas não passem juntas pela verificação.
+     * </p>
      *
-     * @param ids Lista de IDs das postagens.
-     * @return Lista de arrays onde o índice 0 é o ID da postagem e o índice 1 é a quantidade de curtidas.
+     * @param usuarioId   ID do usuário.
+     * @param postagemId  ID da postagem.
+     * @param dataCurtida data e hora da curtida.
+     * @return 1 se a curtida foi criada, 0 se já existia.
      */
-    @Query("""
-        SELECT c.postagem.id, COUNT(c)
-        FROM Curtida c
-        WHERE c.postagem.id IN :ids
-        GROUP BY c.postagem.id
-    """)
-    List<Object[]> contarCurtidasPorPostagens(@Param("ids") List<String> ids);
+    @Modifying
+    @Query(value = """
+        INSERT INTO curtida (usuario_id, postagem_id, data_curtida)
+        SELECT :usuarioId, :postagemId, :dataCurtida FROM DUAL
+        WHERE NOT EXISTS (SELECT 1 FROM curtida WHERE usuario_id = :usuarioId AND postagem_id = :postagemId)
+    """, nativeQuery = true)
+    int inserirSeAusente(@Param("usuarioId") String usuarioId,
+                         @Param("postagemId") String postagemId,
+                         @Param("dataCurtida") LocalDateTime dataCurtida);
+
+    /**
+     * Remove a curtida de um usuário em uma postagem em um único comando.
+     *
+     * @param usuarioId  ID do usuário.
+     * @param postagemId ID da postagem.
+     * @return 1 se a curtida foi removida, 0 se não existia.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM curtida WHERE usuario_id = :usuarioId AND postagem_id = :postagemId", nativeQuery = true)
+    int removerCurtida(@Param("usuarioId") String usuarioId, @Param("postagemId") String postagemId);
+
+    /**
+     * Busca a data de uma curtida, sem carregar a entidade.
+     *
+     * @param usuarioId  ID do usuário.
+     * @param postagemId ID da postagem.
+     * @return data e hora da curtida, ou {@code null} se a curtida não existir.
+     */
+    @Query("SELECT c.dataCurtida FROM Curtida c WHERE c.id.usuarioId = :usuarioId AND c.id.postagemId = :postagemId")
+    LocalDateTime buscarDataCurtida(@Param("usuarioId") String usuarioId, @Param("postagemId") String postagemId);
 
     /**
      * Busca todas as curtidas feitas por um usuário em uma lista de postagens.
@@ -80,4 +108,63 @@ public interface CurtidaRepository extends JpaRepository<Curtida, CurtidaId> {
         ORDER BY quantidade DESC
     """)
     List<CategoriaQuantidadeDTO> contarCurtidasPorCategoria(@Param("usuarioId") String usuarioId);
+
+    /**
+     * Percorre as curtidas feitas a partir de uma data, com a categoria da postagem curtida, lendo as linhas
+     * do banco à medida que são consumidas. Usado para montar o ranking de postagens em alta na inicialização.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @param desde data a partir da qual as curtidas são consideradas.
+     * @return Stream de arrays com o ID da postagem, o ID da categoria e a data da curtida.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT c.postagem.id, p.categoria.id, c.dataCurtida
+        FROM Curtida c
+        JOIN c.postagem p
+        WHERE c.dataCurtida > :desde
+    """)
+    Stream<Object[]> percorrerCurtidasDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Busca as curtidas de uma postagem feitas a partir de uma data.
+     *
+     * @param postagemId ID da postagem.
+     * @param desde      data a partir da qual as curtidas são consideradas.
+     * @return arrays com o ID da categoria da postagem e a data da curtida.
+     */
+    @Query("""
+        SELECT p.categoria.id, c.dataCurtida
+        FROM Curtida c
+        JOIN c.postagem p
+        WHERE p.id = :postagemId AND c.dataCurtida > :desde
+    """)
+    List<Object[]> buscarCurtidasDaPostagemDesde(@Param("postagemId") String postagemId,
+                                                 @Param("desde") LocalDateTime desde);
+
+    /**
+     * Percorre todas as curtidas, agrupadas por usuário, lendo as linhas do banco à medida que são consumidas.
+     * Usado para montar o índice de postagens relacionadas. Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream de arrays com o ID do usuário e o ID da postagem curtida, ordenados pelo usuário.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("SELECT c.id.usuarioId, c.id.postagemId FROM Curtida c ORDER BY c.id.usuarioId")
+    Stream<Object[]> percorrerCurtidasPorUsuario();
+
+    /**
+     * Conta, para cada postagem, quantos dos usuários que curtiram a postagem informada também a curtiram.
+     *
+     * @param postagemId ID da postagem.
+     * @return Lista de arrays onde o índice 0 é o ID da outra postagem e o índice 1 é a quantidade de usuários em comum.
+     */
+    @Query("""
+        SELECT outra.id.postagemId, COUNT(outra)
+        FROM Curtida c, Curtida outra
+        WHERE c.id.postagemId = :postagemId
+          AND outra.id.usuarioId = c.id.usuarioId
+          AND outra.id.postagemId <> :postagemId
+        GROUP BY outra.id.postagemId
+    """)
+    List<Object[]> contarCurtidasEmComum(@Param("postagemId") String postagemId);
 }
@@ -0,0 +1,37 @@
+package com.manoela.blog.repository;
+
+import com.manoela.blog.domain.traducao.MemoriaTraducao;
+import com.manoela.blog.domain.traducao.MemoriaTraducaoId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para a entidade {@link MemoriaTraducao}.
+ * Provê operações básicas de consulta e gravação da memória de tradução.
+ */
+@Repository
+public interface MemoriaTraducaoRepository extends JpaRepository<MemoriaTraducao, MemoriaTraducaoId> {
+
+    /**
+     * Grava uma tradução na memória em um único comando, sem consultar antes se ela já existe.
+     * Se outro worker já gravou a tradução do mesmo texto, nada é alterado.
+     *
+     * @param hash           hash do texto de origem.
+     * @param idiomaOrigem   idioma do texto de origem.
+     * @param idiomaAlvo     idioma da tradução.
+     * @param textoTraduzido texto traduzido.
+     * @return 1 se a tradução foi gravada, 0 se já existia.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO memoria_traducao (hash, idioma_origem, idioma_alvo, texto_traduzido)
+        VALUES (:hash, :idiomaOrigem, :idiomaAlvo, :textoTraduzido)
+    """, nativeQuery = true)
+    int inserirSeAusente(@Param("hash") String hash,
+                         @Param("idiomaOrigem") String idiomaOrigem,
+                         @Param("idiomaAlvo") String idiomaAlvo,
+                         @Param("textoTraduzido") String textoTraduzido);
+}
@@ -2,12 +2,22 @@ package com.manoela.blog.repository;
 
 import com.manoela.blog.domain.postagem.Postagem;
 import com.manoela.blog.dto.CategoriaQuantidadeDTO;
+import com.manoela.blog.dto.PostagemRelacionadaDTO;
+import com.manoela.blog.dto.PostagemResumoDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade {@link Postagem}.
@@ -16,6 +26,25 @@ import java.util.List;
 @Repository
 public interface PostagemRepository extends JpaRepository<Postagem, String> {
 
+    /**
+     * Início comum das consultas de resumos de postagens: o resumo traduzido, com autor, categoria,
+     * total de curtidas e se o usuário logado ({@code :idUsuarioLogado}) curtiu a postagem.
+     * Cada consulta completa com os filtros e a ordenação.
+     */
+    String CONSULTA_RESUMOS = """
+        SELECT new com.manoela.blog.dto.PostagemResumoDTO(
+            p.id, pt.titulo, pt.resumo, p.imagem, p.dataCriacao,
+            p.totalCurtidas,
+            CASE WHEN EXISTS (
+                SELECT 1 FROM Curtida cu WHERE cu.id.postagemId = p.id AND cu.id.usuarioId = :idUsuarioLogado
+            ) THEN true ELSE false END,
+            u.nome, u.foto, u.id, ct.nome, p.categoria.id, pt.provisoria, p.dataAtualizacao)
+        FROM PostagemTraducao pt
+        JOIN pt.postagem p
+        LEFT JOIN p.usuario u
+        LEFT JOIN CategoriaTraducao ct ON ct.id.categoriaId = p.categoria.id AND ct.id.idioma = pt.id.idioma
+    """;
+
     /**
      * Retorna a lista de postagens de um usuário específico,
      * ordenadas pela data de criação em ordem decrescente (mais recentes primeiro).
@@ -26,12 +55,210 @@ public interface PostagemRepository extends JpaRepository<Postagem, String> {
     List<Postagem> findByUsuario_IdOrderByDataCriacaoDesc(String usuarioId);
 
     /**
-     * Retorna a lista de postagens que pertencem a uma categoria específica.
+     * Lista de forma paginada (por cursor) os resumos das postagens traduzidas em um idioma,
+     * com autor, categoria, total de curtidas e se o usuário logado curtiu cada postagem,
+     * em um único comando SQL. Ordenados pela data de criação e pelo ID, em ordem descendente.
+     * <p>
+     * Parâmetros nulos desativam o respectivo filtro: sem {@code categoriaId} todas as categorias
+     * são listadas e sem {@code dataCriacao} a primeira página é retornada.
+     * </p>
+     *
+     * @param idioma          idioma da tradução.
+     * @param categoriaId     ID da categoria, ou {@code null}.
+     * @param dataCriacao     data de criação da última postagem da página anterior, ou {@code null}.
+     * @param postagemId      ID da última postagem da página anterior, ou {@code null}.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @param pageable        quantidade de postagens retornadas.
+     * @return Resumos das postagens da página.
+     */
+    @Query(CONSULTA_RESUMOS + """
+        WHERE pt.id.idioma = :idioma
+          AND (:categoriaId IS NULL OR p.categoria.id = :categoriaId)
+          AND (:dataCriacao IS NULL
+               OR p.dataCriacao < :dataCriacao
+               OR (p.dataCriacao = :dataCriacao AND p.id < :postagemId))
+        ORDER BY p.dataCriacao DESC, p.id DESC
+    """)
+    List<PostagemResumoDTO> buscarResumosFeed(@Param("idioma") String idioma,
+                                              @Param("categoriaId") Integer categoriaId,
+                                              @Param("dataCriacao") LocalDateTime dataCriacao,
+                                              @Param("postagemId") String postagemId,
+                                              @Param("idUsuarioLogado") String idUsuarioLogado,
+                                              Pageable pageable);
+
+    /**
+     * Percorre os resumos das postagens do feed, com os mesmos filtros e ordenação de
+     * {@link #buscarResumosFeed}, lendo as linhas do banco à medida que são consumidas.
+     * <p>
+     * O tamanho de busca {@code Integer.MIN_VALUE} faz o driver do MySQL transmitir o resultado
+     * linha a linha, sem carregá-lo inteiro em memória. Deve ser consumido dentro de uma transação
+     * e fechado ao final; nenhuma outra consulta pode usar a conexão enquanto estiver aberto.
+     * </p>
+     *
+     * @param idioma          idioma da tradução.
+     * @param categoriaId     ID da categoria, ou {@code null}.
+     * @param dataCriacao     data de criação da última postagem já entregue, ou {@code null}.
+     * @param postagemId      ID da última postagem já entregue, ou {@code null}.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @param pageable        quantidade de postagens retornadas.
+     * @return Stream com os resumos das postagens.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(CONSULTA_RESUMOS + """
+        WHERE pt.id.idioma = :idioma
+          AND (:categoriaId IS NULL OR p.categoria.id = :categoriaId)
+          AND (:dataCriacao IS NULL
+               OR p.dataCriacao < :dataCriacao
+               OR (p.dataCriacao = :dataCriacao AND p.id < :postagemId))
+        ORDER BY p.dataCriacao DESC, p.id DESC
+    """)
+    Stream<PostagemResumoDTO> percorrerResumosFeed(@Param("idioma") String idioma,
+                                                   @Param("categoriaId") Integer categoriaId,
+                                                   @Param("dataCriacao") LocalDateTime dataCriacao,
+                                                   @Param("postagemId") String postagemId,
+                                                   @Param("idUsuarioLogado") String idUsuarioLogado,
+                                                   Pageable pageable);
+
+    /**
+     * Lista os resumos das postagens de um usuário traduzidas em um idioma, em um único comando SQL,
+     * ordenados pela data de criação em ordem decrescente.
+     *
+     * @param usuarioId       ID do autor das postagens.
+     * @param idioma          idioma da tradução.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @return Resumos das postagens do usuário.
+     */
+    @Query(CONSULTA_RESUMOS + """
+        WHERE pt.id.idioma = :idioma
+          AND u.id = :usuarioId
+        ORDER BY p.dataCriacao DESC, p.id DESC
+    """)
+    List<PostagemResumoDTO> buscarResumosPorUsuario(@Param("usuarioId") String usuarioId,
+                                                    @Param("idioma") String idioma,
+                                                    @Param("idUsuarioLogado") String idUsuarioLogado);
+
+    /**
+     * Busca o resumo de uma única postagem traduzida em um idioma, com o mesmo conteúdo das listagens.
+     * Usado para atualizar as listagens mantidas em memória quando a postagem é alterada.
+     *
+     * @param postagemId      ID da postagem.
+     * @param idioma          idioma da tradução.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @return Resumo da postagem, ou lista vazia se ela não tiver tradução no idioma.
+     */
+    @Query(CONSULTA_RESUMOS + """
+        WHERE pt.id.idioma = :idioma
+          AND p.id = :postagemId
+    """)
+    List<PostagemResumoDTO> buscarResumoDaPostagem(@Param("postagemId") String postagemId,
+                                                   @Param("idioma") String idioma,
+                                                   @Param("idUsuarioLogado") String idUsuarioLogado);
+
+    /**
+     * Busca os resumos de um conjunto de postagens traduzidas em um idioma, em um único comando SQL.
+     * A ordem do resultado não é definida.
+     *
+     * @param postagemIds     IDs das postagens.
+     * @param idioma          idioma da tradução.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @return Resumos das postagens que possuem tradução no idioma.
+     */
+    @Query(CONSULTA_RESUMOS + """
+        WHERE pt.id.idioma = :idioma
+          AND p.id IN :postagemIds
+    """)
+    List<PostagemResumoDTO> buscarResumosPorIds(@Param("postagemIds") Collection<String> postagemIds,
+                                                @Param("idioma") String idioma,
+                                                @Param("idUsuarioLogado") String idUsuarioLogado);
+
+    /**
+     * Busca o título e a imagem de um conjunto de postagens traduzidas em um idioma, para a lista de
+     * postagens relacionadas. Não consulta as curtidas. A ordem do resultado não é definida.
+     *
+     * @param postagemIds IDs das postagens.
+     * @param idioma      idioma da tradução.
+     * @return Postagens que possuem tradução no idioma.
+     */
+    @Query("""
+        SELECT new com.manoela.blog.dto.PostagemRelacionadaDTO(p.id, pt.titulo, p.imagem, ct.nome)
+        FROM PostagemTraducao pt
+        JOIN pt.postagem p
+        LEFT JOIN CategoriaTraducao ct ON ct.id.categoriaId = p.categoria.id AND ct.id.idioma = pt.id.idioma
+        WHERE pt.id.idioma = :idioma
+          AND p.id IN :postagemIds
+    """)
+    List<PostagemRelacionadaDTO> buscarRelacionadasPorIds(@Param("postagemIds") Collection<String> postagemIds,
+                                                          @Param("idioma") String idioma);
+
+    /**
+     * Lista os IDs de todas as postagens.
+     *
+     * @return IDs das postagens.
+     */
+    @Query("SELECT p.id FROM Postagem p")
+    List<String> listarIds();
+
+    /**
+     * Busca a categoria de uma postagem, sem carregar a entidade.
+     *
+     * @param postagemId ID da postagem.
+     * @return ID da categoria, ou {@code null} se a postagem não existir.
+     */
+    @Query("SELECT p.categoria.id FROM Postagem p WHERE p.id = :postagemId")
+    Integer buscarCategoriaId(@Param("postagemId") String postagemId);
+
+    /**
+     * Busca o total de curtidas de cada postagem de uma lista de IDs.
+     *
+     * @param ids IDs das postagens.
+     * @return Lista de arrays onde o índice 0 é o ID da postagem e o índice 1 é o total de curtidas.
+     */
+    @Query("SELECT p.id, p.totalCurtidas FROM Postagem p WHERE p.id IN :ids")
+    List<Object[]> buscarTotaisCurtidas(@Param("ids") Collection<String> ids);
+
+    /**
+     * Bloqueia a linha da postagem até o fim da transação, sem carregar a entidade.
+     * <p>
+     * Usado antes de gravar uma curtida: a inserção da curtida bloqueia a postagem para leitura (chave
+     * estrangeira) e a atualização do total precisa do bloqueio de escrita, então duas curtidas simultâneas
+     * que bloqueassem primeiro para leitura entrariam em deadlock.
+     * </p>
+     *
+     * @param postagemId ID da postagem.
+     * @return ID da postagem, ou {@code null} se a postagem não existir.
+     */
+    @Query(value = "SELECT id FROM postagem WHERE id = :postagemId FOR UPDATE", nativeQuery = true)
+    String bloquearPostagem(@Param("postagemId") String postagemId);
+
+    /**
+     * Soma uma variação ao total de curtidas de uma postagem em um único comando, sem ler o total atual.
+     * A data de atualização é mantida, pois curtir não altera o conteúdo da postagem.
+     *
+     * @param postagemId ID da postagem.
+     * @param variacao   1 para uma curtida, -1 para uma curtida removida.
+     * @return quantidade de postagens atualizadas.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE postagem
+        SET like_count = GREATEST(0, like_count + :variacao), data_atualizacao = data_atualizacao
+        WHERE id = :postagemId
+    """, nativeQuery = true)
+    int somarCurtidas(@Param("postagemId") String postagemId, @Param("variacao") long variacao);
+
+    /**
+     * Corrige o total de curtidas das postagens em que ele difere da contagem da tabela de curtidas.
      *
-     * @param categoriaId ID da categoria.
-     * @return Lista de postagens da categoria informada.
+     * @return quantidade de postagens corrigidas.
      */
-    List<Postagem> findByCategoriaId(Integer categoriaId);
+    @Modifying
+    @Query(value = """
+        UPDATE postagem p
+        SET p.like_count = (SELECT COUNT(*) FROM curtida c WHERE c.postagem_id = p.id),
+            p.data_atualizacao = p.data_atualizacao
+        WHERE p.like_count <> (SELECT COUNT(*) FROM curtida c WHERE c.postagem_id = p.id)
+    """, nativeQuery = true)
+    int reconciliarCurtidas();
 
     /**
      * Conta a quantidade de postagens por categoria para um usuário,
@@ -2,12 +2,20 @@ package com.manoela.blog.repository;
 
 import com.manoela.blog.domain.postagem.PostagemTraducao;
 import com.manoela.blog.domain.postagem.PostagemTraducaoId;
+import com.manoela.blog.dto.TextoPostagemDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade {@link PostagemTraducao}.
@@ -26,19 +34,63 @@ public interface PostagemTraducaoRepository extends JpaRepository<PostagemTraduc
     List<PostagemTraducao> findById_IdiomaAndId_PostagemIdIn(String idioma, List<String> postagemIds);
 
     /**
-     * Busca traduções de postagens em determinado idioma,
-     * trazendo as postagens associadas, ordenadas pela data de criação descendente.
+     * Marca como provisórias as traduções de uma postagem em todos os idiomas, exceto o de origem,
+     * para que sejam refeitas a partir do novo texto.
      *
-     * @param idioma idioma da tradução.
-     * @return lista de traduções ordenadas por data de criação da postagem.
+     * @param postagemId   ID da postagem.
+     * @param idiomaOrigem idioma em que o texto de origem está gravado.
+     * @return quantidade de traduções marcadas.
      */
+    @Transactional
+    @Modifying(flushAutomatically = true)
     @Query("""
-        SELECT pt
-        FROM PostagemTraducao pt
-        JOIN FETCH pt.postagem p
-        WHERE pt.id.idioma = :idioma
-        ORDER BY p.dataCriacao DESC
+        UPDATE PostagemTraducao pt
+        SET pt.provisoria = true
+        WHERE pt.id.postagemId = :postagemId
+          AND pt.id.idioma <> :idiomaOrigem
         """)
-    List<PostagemTraducao> buscarPostagensTraduzidasPorIdiomaOrdenadas(@Param("idioma") String idioma);
+    int marcarComoProvisorias(@Param("postagemId") String postagemId,
+                              @Param("idiomaOrigem") String idiomaOrigem);
+
+    /**
+     * Percorre o título e o conteúdo de todas as traduções, lendo as linhas do banco à medida que são
+     * consumidas. Usado para reconstruir o índice de busca. Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os textos das traduções.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT new com.manoela.blog.dto.TextoPostagemDTO(pt.id.postagemId, pt.id.idioma, pt.titulo, pt.conteudo)
+        FROM PostagemTraducao pt
+    """)
+    Stream<TextoPostagemDTO> percorrerTextos();
+
+    /**
+     * Busca o título e o conteúdo das traduções de uma postagem em todos os idiomas.
+     *
+     * @param postagemId ID da postagem.
+     * @return textos das traduções da postagem.
+     */
+    @Query("""
+        SELECT new com.manoela.blog.dto.TextoPostagemDTO(pt.id.postagemId, pt.id.idioma, pt.titulo, pt.conteudo)
+        FROM PostagemTraducao pt
+        WHERE pt.id.postagemId = :postagemId
+    """)
+    List<TextoPostagemDTO> buscarTextosDaPostagem(@Param("postagemId") String postagemId);
 
+    /**
+     * Busca o título e o conteúdo de todas as traduções das postagens criadas, alteradas ou traduzidas
+     * a partir de uma data.
+     *
+     * @param desde data a partir da qual as postagens são consideradas.
+     * @return textos das traduções das postagens, em todos os idiomas.
+     */
+    @Query("""
+        SELECT new com.manoela.blog.dto.TextoPostagemDTO(pt.id.postagemId, pt.id.idioma, pt.titulo, pt.conteudo)
+        FROM PostagemTraducao pt
+        JOIN pt.postagem p
+        WHERE p.dataCriacao >= :desde OR p.dataAtualizacao >= :desde
+           OR p.id IN (SELECT t.id.postagemId FROM PostagemTraducao t WHERE t.dataAtualizacao >= :desde)
+    """)
+    List<TextoPostagemDTO> buscarTextosAlteradosDesde(@Param("desde") LocalDateTime desde);
 }
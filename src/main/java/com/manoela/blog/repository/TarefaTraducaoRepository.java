@@ -0,0 +1,175 @@
+package com.manoela.blog.repository;
+
+import com.manoela.blog.domain.traducao.StatusTarefaTraducao;
+import com.manoela.blog.domain.traducao.TarefaTraducao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para a entidade {@link TarefaTraducao}.
+ * Fornece as consultas usadas pela fila de traduções em segundo plano.
+ */
+@Repository
+public interface TarefaTraducaoRepository extends JpaRepository<TarefaTraducao, Long> {
+
+    /**
+     * Busca as tarefas pendentes cuja próxima tentativa já pode ser feita,
+     * das mais antigas para as mais recentes.
+     *
+     * @param agora    data e hora atual.
+     * @param pageable limite de tarefas retornadas.
+     * @return lista de tarefas prontas para processamento.
+     */
+    @Query("""
+        SELECT t
+        FROM TarefaTraducao t
+        WHERE t.status = com.manoela.blog.domain.traducao.StatusTarefaTraducao.PENDENTE
+          AND (t.proximaTentativa IS NULL OR t.proximaTentativa <= :agora)
+        ORDER BY t.dataCriacao ASC
+    """)
+    List<TarefaTraducao> buscarProntasParaProcessar(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Conta as tarefas em um determinado estado.
+     *
+     * @param status estado das tarefas.
+     * @return quantidade de tarefas no estado informado.
+     */
+    long countByStatus(StatusTarefaTraducao status);
+
+    /**
+     * Busca a data de criação da tarefa mais antiga em um determinado estado.
+     *
+     * @param status estado das tarefas.
+     * @return data de criação da tarefa mais antiga, ou {@code null} se não houver tarefas.
+     */
+    @Query("SELECT MIN(t.dataCriacao) FROM TarefaTraducao t WHERE t.status = :status")
+    LocalDateTime buscarDataCriacaoMaisAntiga(@Param("status") StatusTarefaTraducao status);
+
+    /**
+     * Verifica se já existe uma tarefa no estado informado para a postagem e idioma alvo.
+     *
+     * @param postagemId ID da postagem.
+     * @param idiomaAlvo idioma alvo da tradução.
+     * @param status     estado da tarefa.
+     * @return {@code true} se a tarefa existir.
+     */
+    boolean existsByPostagemIdAndIdiomaAlvoAndStatus(String postagemId, String idiomaAlvo, StatusTarefaTraducao status);
+
+    /**
+     * Altera o estado de uma tarefa somente se ela ainda estiver no estado esperado.
+     * Usado para que apenas um worker reserve cada tarefa.
+     *
+     * @param id     ID da tarefa.
+     * @param atual  estado esperado.
+     * @param novo   novo estado.
+     * @param agora  data e hora da alteração.
+     * @return quantidade de linhas alteradas (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE TarefaTraducao t
+        SET t.status = :novo, t.dataAtualizacao = :agora
+        WHERE t.id = :id AND t.status = :atual
+    """)
+    int alterarStatus(@Param("id") Long id,
+                      @Param("atual") StatusTarefaTraducao atual,
+                      @Param("novo") StatusTarefaTraducao novo,
+                      @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra uma tentativa de tradução e grava o estado resultante.
+     *
+     * @param id     ID da tarefa.
+     * @param status estado resultante da tentativa.
+     * @param agora  data e hora da alteração.
+     * @return quantidade de linhas alteradas.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE TarefaTraducao t
+        SET t.status = :status, t.tentativas = t.tentativas + 1, t.dataAtualizacao = :agora
+        WHERE t.id = :id
+    """)
+    int registrarTentativa(@Param("id") Long id,
+                           @Param("status") StatusTarefaTraducao status,
+                           @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra uma tentativa que falhou e devolve a tarefa para a fila, a ser processada
+     * novamente somente após a data informada.
+     *
+     * @param id               ID da tarefa.
+     * @param proximaTentativa data e hora a partir da qual a tarefa pode ser processada.
+     * @param erro             motivo da falha.
+     * @param agora            data e hora da alteração.
+     * @return quantidade de linhas alteradas.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE TarefaTraducao t
+        SET t.status = com.manoela.blog.domain.traducao.StatusTarefaTraducao.PENDENTE,
+            t.tentativas = t.tentativas + 1,
+            t.proximaTentativa = :proximaTentativa,
+            t.ultimoErro = :erro,
+            t.dataAtualizacao = :agora
+        WHERE t.id = :id
+    """)
+    int agendarNovaTentativa(@Param("id") Long id,
+                             @Param("proximaTentativa") LocalDateTime proximaTentativa,
+                             @Param("erro") String erro,
+                             @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra a última tentativa de uma tarefa que esgotou as tentativas permitidas,
+     * movendo-a para o estado de erro.
+     *
+     * @param id    ID da tarefa.
+     * @param erro  motivo da falha.
+     * @param agora data e hora da alteração.
+     * @return quantidade de linhas alteradas.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE TarefaTraducao t
+        SET t.status = com.manoela.blog.domain.traducao.StatusTarefaTraducao.ERRO,
+            t.tentativas = t.tentativas + 1,
+            t.ultimoErro = :erro,
+            t.dataAtualizacao = :agora
+        WHERE t.id = :id
+    """)
+    int descartar(@Param("id") Long id,
+                  @Param("erro") String erro,
+                  @Param("agora") LocalDateTime agora);
+
+    /**
+     * Altera o estado de todas as tarefas que estão no estado informado.
+     *
+     * @param atual estado atual das tarefas.
+     * @param novo  novo estado.
+     * @param agora data e hora da alteração.
+     * @return quantidade de tarefas alteradas.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE TarefaTraducao t
+        SET t.status = :novo, t.dataAtualizacao = :agora
+        WHERE t.status = :atual
+    """)
+    int alterarStatusEmLote(@Param("atual") StatusTarefaTraducao atual,
+                            @Param("novo") StatusTarefaTraducao novo,
+                            @Param("agora") LocalDateTime agora);
+}
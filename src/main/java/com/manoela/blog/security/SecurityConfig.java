@@ -55,7 +55,9 @@ public class SecurityConfig {
                                 "/register",
                                 "/usuario/*",
                                 "/post/feed",
-                                "/post/*/show"
+                                "/post/*/show",
+                                "/api/feed",
+                                "/api/busca"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
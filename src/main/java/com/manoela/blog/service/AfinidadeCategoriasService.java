@@ -0,0 +1,139 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.dto.CategoriaQuantidadeDTO;
+import com.manoela.blog.event.CurtidaAlteradaEvent;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.CurtidaRepository;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.util.CacheLru;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serviço que mantém em memória a afinidade de cada usuário com as categorias, medida pelas suas curtidas.
+ * <p>
+ * As curtidas por categoria de um usuário são lidas do banco na primeira vez que são usadas e,
+ * a partir daí, atualizadas a cada curtida do usuário, sem nova agregação. São mantidos os
+ * {@code feed.afinidade.capacidade} usuários usados mais recentemente.
+ * </p>
+ */
+@Service
+public class AfinidadeCategoriasService {
+
+    private final CurtidaRepository curtidaRepository;
+    private final PostagemRepository postagemRepository;
+    private final CacheLru<String, Curtidas> cache;
+
+    /**
+     * Versões dos usuários, agrupados pelo hash do ID e incrementadas a cada curtida do usuário,
+     * para descartar cargas concorrentes com as suas curtidas.
+     */
+    private final AtomicLongArray versoes = new AtomicLongArray(256);
+
+    public AfinidadeCategoriasService(CurtidaRepository curtidaRepository,
+                                      PostagemRepository postagemRepository,
+                                      @Value("${feed.afinidade.capacidade:10000}") int capacidade) {
+        this.curtidaRepository = curtidaRepository;
+        this.postagemRepository = postagemRepository;
+        this.cache = new CacheLru<>(capacidade);
+    }
+
+    /**
+     * Curtidas de um usuário por categoria. As alterações são sincronizadas.
+     */
+    private static final class Curtidas {
+        private final Map<Integer, Long> porCategoria = new HashMap<>();
+        private long total;
+
+        synchronized void somar(Integer categoriaId, long quantidade) {
+            long atual = porCategoria.merge(categoriaId, quantidade, Long::sum);
+            if (atual <= 0) {
+                porCategoria.remove(categoriaId);
+            }
+            total = Math.max(0, total + quantidade);
+        }
+
+        synchronized Map<Integer, Double> proporcoes() {
+            Map<Integer, Double> proporcoes = new HashMap<>(porCategoria.size() * 2);
+            if (total > 0) {
+                porCategoria.forEach((categoriaId, quantidade) -> proporcoes.put(categoriaId, (double) quantidade / total));
+            }
+            return proporcoes;
+        }
+    }
+
+    /**
+     * Retorna a afinidade do usuário com cada categoria: a fração das suas curtidas feitas em postagens da categoria.
+     *
+     * @param usuarioId ID do usuário.
+     * @return afinidade entre 0 e 1 por ID de categoria; categorias sem curtidas não aparecem.
+     */
+    public Map<Integer, Double> buscarAfinidades(String usuarioId) {
+        Curtidas curtidas = cache.get(usuarioId);
+        if (curtidas == null) {
+            curtidas = carregar(usuarioId);
+        }
+        return curtidas.proporcoes();
+    }
+
+    /**
+     * Descarta as curtidas em memória de todos os usuários quando uma postagem é excluída,
+     * já que as curtidas da postagem são removidas em cascata pelo banco, sem evento de curtida.
+     *
+     * @param evento postagem alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        if (!evento.excluida()) {
+            return;
+        }
+        for (int i = 0; i < versoes.length(); i++) {
+            versoes.incrementAndGet(i);
+        }
+        cache.removeIf(usuarioId -> true);
+    }
+
+    /**
+     * Atualiza as curtidas por categoria do usuário, se estiverem em memória, após o commit da curtida.
+     *
+     * @param evento curtida alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCurtida(CurtidaAlteradaEvent evento) {
+        versoes.incrementAndGet(faixa(evento.usuarioId()));
+        Curtidas curtidas = cache.get(evento.usuarioId());
+        if (curtidas == null) {
+            return;
+        }
+        Integer categoriaId = postagemRepository.buscarCategoriaId(evento.postagemId());
+        if (categoriaId != null) {
+            curtidas.somar(categoriaId, evento.curtida() ? 1 : -1);
+        }
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private int faixa(String usuarioId) {
+        return Math.floorMod(usuarioId.hashCode(), versoes.length());
+    }
+
+    private Curtidas carregar(String usuarioId) {
+        int faixa = faixa(usuarioId);
+        long versaoInicial = versoes.get(faixa);
+        Curtidas curtidas = new Curtidas();
+        for (CategoriaQuantidadeDTO categoria : curtidaRepository.contarCurtidasPorCategoria(usuarioId)) {
+            curtidas.somar(categoria.getCategoriaId(), categoria.getQuantidade());
+        }
+
+        // Uma curtida durante a carga pode ou não estar refletida na contagem
+        if (versoes.get(faixa) == versaoInicial) {
+            cache.put(usuarioId, curtidas);
+        }
+        return curtidas;
+    }
+}
@@ -0,0 +1,304 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.dto.ResultadoBuscaDTO;
+import com.manoela.blog.dto.TextoPostagemDTO;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.repository.PostagemTraducaoRepository;
+import com.manoela.blog.util.IndiceInvertido;
+import com.manoela.blog.util.IndiceInvertido.Resultado;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de busca textual nas postagens, com um índice invertido em memória para cada idioma.
+ * <p>
+ * O índice é atualizado a cada criação, edição, tradução e exclusão de postagem e gravado em disco
+ * periodicamente e ao encerrar a aplicação. Na inicialização o arquivo gravado é lido e apenas as
+ * postagens alteradas perto ou depois da gravação são reindexadas; sem arquivo válido, o índice é
+ * reconstruído a partir do banco.
+ * </p>
+ */
+@Service
+public class BuscaService {
+
+    /**
+     * Período antes da última gravação cujas postagens são reindexadas na inicialização,
+     * cobrindo alterações gravadas no banco pouco antes do arquivo e ainda não indexadas.
+     */
+    private static final Duration MARGEM_RECONCILIACAO = Duration.ofHours(1);
+
+    private final PostagemTraducaoRepository traducaoRepository;
+    private final PostagemRepository postagemRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final Timer duracaoConsulta;
+
+    private final Map<String, IndiceInvertido> indices = new ConcurrentHashMap<>();
+    private final AtomicBoolean alterado = new AtomicBoolean();
+
+    /**
+     * Alterações recebidas enquanto o índice é carregado, indexadas por postagem e aplicadas ao fim da carga;
+     * {@code null} depois dela.
+     */
+    private Map<String, PostagemAlteradaEvent> pendentes = new LinkedHashMap<>();
+    private final Object travaPendentes = new Object();
+
+    @Value("${busca.indice.arquivo:dados/indice-busca.bin}")
+    private String arquivo;
+
+    public BuscaService(PostagemTraducaoRepository traducaoRepository,
+                        PostagemRepository postagemRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.traducaoRepository = traducaoRepository;
+        this.postagemRepository = postagemRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+
+        this.duracaoConsulta = Timer.builder("busca.consulta.duracao")
+                .description("Tempo para consultar o índice de busca")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("busca.indice.postagens", indices,
+                i -> i.values().stream().mapToInt(IndiceInvertido::tamanho).sum());
+    }
+
+    /**
+     * Busca as postagens mais relevantes para a consulta, no idioma informado.
+     *
+     * @param consulta        texto da busca.
+     * @param idioma          idioma das postagens.
+     * @param limite          quantidade máxima de resultados.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @return postagens encontradas, da mais relevante para a menos relevante.
+     */
+    public List<ResultadoBuscaDTO> buscar(String consulta, String idioma, int limite, String idUsuarioLogado) {
+        IndiceInvertido indice = indices.get(idioma);
+        if (indice == null || consulta == null || consulta.isBlank()) {
+            return List.of();
+        }
+
+        List<Resultado> resultados = duracaoConsulta.record(() -> indice.buscar(consulta, limite));
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, PostagemResumoDTO> resumos = postagemRepository.buscarResumosPorIds(
+                        resultados.stream().map(Resultado::postagemId).toList(), idioma, idUsuarioLogado)
+                .stream()
+                .collect(Collectors.toMap(PostagemResumoDTO::getId, Function.identity()));
+
+        return resultados.stream()
+                .filter(r -> resumos.containsKey(r.postagemId()))
+                .map(r -> new ResultadoBuscaDTO(resumos.get(r.postagemId()), r.pontuacao()))
+                .toList();
+    }
+
+    /**
+     * Carrega o índice gravado em disco, ou o reconstrói a partir do banco.
+     * As alterações de postagens recebidas durante a carga são aplicadas ao final dela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            Instant gravadoEm = lerArquivo();
+            if (gravadoEm == null) {
+                reconstruir();
+            } else {
+                reconciliar(gravadoEm);
+            }
+        } finally {
+            aplicarPendentes();
+        }
+    }
+
+    /**
+     * Reindexa a postagem alterada em todos os idiomas, após o commit da alteração.
+     *
+     * @param evento postagem criada, editada, traduzida ou excluída.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        synchronized (travaPendentes) {
+            if (pendentes != null) {
+                pendentes.put(evento.postagemId(), evento);
+                return;
+            }
+        }
+        aplicar(evento);
+    }
+
+    /**
+     * Grava o índice em disco, se houve alterações desde a última gravação.
+     */
+    @Scheduled(fixedDelayString = "${busca.indice.intervalo-gravacao-ms:30000}")
+    public void gravarSeAlterado() {
+        if (alterado.getAndSet(false)) {
+            gravarArquivo();
+        }
+    }
+
+    /**
+     * Grava o índice ao encerrar a aplicação, para que a próxima inicialização não precise reconstruí-lo.
+     */
+    @PreDestroy
+    public void encerrar() {
+        gravarSeAlterado();
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void aplicar(PostagemAlteradaEvent evento) {
+        if (evento.excluida()) {
+            indices.values().forEach(indice -> indice.remover(evento.postagemId()));
+        } else {
+            reindexar(evento.postagemId(), traducaoRepository.buscarTextosDaPostagem(evento.postagemId()));
+        }
+        alterado.set(true);
+    }
+
+    /**
+     * Aplica as alterações recebidas durante a carga, até não restar nenhuma, e passa a aplicá-las ao recebê-las.
+     */
+    private void aplicarPendentes() {
+        while (true) {
+            Collection<PostagemAlteradaEvent> lote;
+            synchronized (travaPendentes) {
+                if (pendentes.isEmpty()) {
+                    pendentes = null;
+                    return;
+                }
+                lote = pendentes.values();
+                pendentes = new LinkedHashMap<>();
+            }
+            lote.forEach(this::aplicar);
+        }
+    }
+
+    private void reindexar(String postagemId, List<TextoPostagemDTO> textos) {
+        Set<String> idiomas = new HashSet<>();
+        for (TextoPostagemDTO texto : textos) {
+            indice(texto.getIdioma()).indexar(postagemId, texto.getTitulo(), texto.getConteudo());
+            idiomas.add(texto.getIdioma());
+        }
+        indices.forEach((idioma, indice) -> {
+            if (!idiomas.contains(idioma)) {
+                indice.remover(postagemId);
+            }
+        });
+    }
+
+    private IndiceInvertido indice(String idioma) {
+        return indices.computeIfAbsent(idioma, IndiceInvertido::new);
+    }
+
+    private void reconstruir() {
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<TextoPostagemDTO> textos = traducaoRepository.percorrerTextos()) {
+                textos.forEach(t -> indice(t.getIdioma()).indexar(t.getPostagemId(), t.getTitulo(), t.getConteudo()));
+            }
+        });
+        alterado.set(true);
+    }
+
+    /**
+     * Atualiza o índice lido do disco com as alterações feitas depois (ou pouco antes) da gravação.
+     */
+    private void reconciliar(Instant gravadoEm) {
+        LocalDateTime desde = LocalDateTime.ofInstant(gravadoEm.minus(MARGEM_RECONCILIACAO), ZoneId.systemDefault());
+        traducaoRepository.buscarTextosAlteradosDesde(desde).stream()
+                .collect(Collectors.groupingBy(TextoPostagemDTO::getPostagemId))
+                .forEach(this::reindexar);
+
+        Set<String> existentes = new HashSet<>(postagemRepository.listarIds());
+        indices.values().forEach(indice -> indice.postagens().stream()
+                .filter(id -> !existentes.contains(id))
+                .forEach(indice::remover));
+        alterado.set(true);
+    }
+
+    /**
+     * Lê o índice gravado em disco.
+     *
+     * @return instante da gravação, ou {@code null} se o arquivo não existir ou estiver inválido.
+     */
+    private Instant lerArquivo() {
+        Path caminho = Paths.get(arquivo);
+        if (!Files.exists(caminho)) {
+            return null;
+        }
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(caminho)))) {
+            Instant gravadoEm = Instant.ofEpochMilli(entrada.readLong());
+            int quantidade = entrada.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                IndiceInvertido indice = IndiceInvertido.ler(entrada);
+                indices.put(indice.getIdioma(), indice);
+            }
+            return gravadoEm;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Índice de busca inválido em " + caminho + ", reconstruindo: " + e.getMessage());
+            indices.clear();
+            return null;
+        }
+    }
+
+    /**
+     * Grava o índice em um arquivo temporário e o move sobre o anterior, para que uma falha
+     * durante a gravação não corrompa o último índice válido.
+     */
+    private synchronized void gravarArquivo() {
+        Path caminho = Paths.get(arquivo).toAbsolutePath();
+        Path temporario = caminho.resolveSibling(caminho.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(Objects.requireNonNull(caminho.getParent()));
+            try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+                saida.writeLong(System.currentTimeMillis());
+                List<IndiceInvertido> atuais = List.copyOf(indices.values());
+                saida.writeInt(atuais.size());
+                for (IndiceInvertido indice : atuais) {
+                    indice.gravar(saida);
+                }
+            }
+            Files.move(temporario, caminho, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            alterado.set(true);
+            System.err.println("Erro ao gravar o índice de busca em " + caminho + ": " + e.getMessage());
+        }
+    }
+}
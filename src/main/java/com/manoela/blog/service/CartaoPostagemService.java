@@ -0,0 +1,183 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.util.CacheLru;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço que renderiza os cartões de postagem exibidos no feed e no perfil do usuário,
+ * mantendo o HTML gerado em um cache LRU.
+ * <p>
+ * O cartão é identificado pela postagem, idioma, variante e data da última alteração da postagem,
+ * de forma que uma edição gere um novo cartão. As traduções concluídas, que não alteram a postagem,
+ * descartam os cartões da postagem. A curtida do usuário logado e o total de curtidas não fazem parte
+ * do HTML armazenado: são inseridos a cada leitura nos marcadores do template
+ * {@code fragments/cartao-postagem}.
+ * </p>
+ */
+@Service
+public class CartaoPostagemService {
+
+    private static final String TEMPLATE = "fragments/cartao-postagem";
+    private static final Pattern MARCADORES = Pattern.compile("%(CURTIDA_BOTAO|CURTIDA_ICONE|TOTAL_CURTIDAS)%");
+
+    private final ITemplateEngine templateEngine;
+    private final CacheLru<ChaveCartao, Cartao> cache;
+
+    private final Counter acertos;
+    private final Counter faltas;
+    private final Counter tempoEconomizado;
+    private final Timer renderizacao;
+
+    public CartaoPostagemService(ITemplateEngine templateEngine,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${feed.cartoes.capacidade:2000}") int capacidade) {
+        this.templateEngine = templateEngine;
+        this.cache = new CacheLru<>(capacidade);
+
+        this.acertos = contador(meterRegistry, "acerto");
+        this.faltas = contador(meterRegistry, "falta");
+        this.tempoEconomizado = Counter.builder("feed.cartoes.tempo_economizado")
+                .description("Tempo de renderização evitado pelos cartões servidos do cache")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.renderizacao = Timer.builder("feed.cartoes.renderizacao")
+                .description("Tempo de renderização dos cartões ausentes do cache")
+                .register(meterRegistry);
+        meterRegistry.gauge("feed.cartoes.itens", cache, CacheLru::size);
+    }
+
+    /**
+     * Retorna o HTML do cartão de uma postagem no feed.
+     *
+     * @param postagem resumo da postagem, com a curtida do usuário logado.
+     * @return HTML do cartão.
+     */
+    public String renderizarFeed(PostagemResumoDTO postagem) {
+        return renderizar(postagem, "feed", false);
+    }
+
+    /**
+     * Retorna o HTML do cartão de uma postagem no perfil do autor.
+     *
+     * @param postagem resumo da postagem, com a curtida do usuário logado.
+     * @param dono     {@code true} se o usuário logado é o autor, exibindo as opções de edição e exclusão.
+     * @return HTML do cartão.
+     */
+    public String renderizarPerfil(PostagemResumoDTO postagem, boolean dono) {
+        return renderizar(postagem, "perfil", dono);
+    }
+
+    /**
+     * Descarta os cartões de uma postagem alterada, após o commit da alteração.
+     *
+     * @param evento postagem criada, editada, traduzida ou excluída.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        cache.removeIf(chave -> chave.postagemId().equals(evento.postagemId()));
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private String renderizar(PostagemResumoDTO postagem, String fragmento, boolean dono) {
+        Locale locale = LocaleContextHolder.getLocale();
+        ChaveCartao chave = new ChaveCartao(postagem.getId(), locale.toLanguageTag(),
+                dono ? fragmento + "-dono" : fragmento, postagem.getDataAtualizacao());
+
+        Cartao cartao = cache.get(chave);
+        if (cartao != null && cartao.autor().equals(autor(postagem))) {
+            acertos.increment();
+            tempoEconomizado.increment(cartao.nanosRenderizacao() / 1e9);
+        } else {
+            faltas.increment();
+            cartao = gerar(postagem, fragmento, dono, locale);
+            cache.put(chave, cartao);
+        }
+        return cartao.montar(postagem);
+    }
+
+    private Cartao gerar(PostagemResumoDTO postagem, String fragmento, boolean dono, Locale locale) {
+        long inicio = System.nanoTime();
+        String html = templateEngine.process(TEMPLATE, Set.of(fragmento),
+                new Context(locale, Map.of("postagem", postagem, "dono", dono)));
+        long nanos = System.nanoTime() - inicio;
+        renderizacao.record(nanos, TimeUnit.NANOSECONDS);
+
+        List<String> partes = new ArrayList<>();
+        List<String> marcadores = new ArrayList<>();
+        Matcher matcher = MARCADORES.matcher(html);
+        int posicao = 0;
+        while (matcher.find()) {
+            partes.add(html.substring(posicao, matcher.start()));
+            marcadores.add(matcher.group(1));
+            posicao = matcher.end();
+        }
+        partes.add(html.substring(posicao));
+
+        return new Cartao(List.copyOf(partes), List.copyOf(marcadores), autor(postagem), nanos);
+    }
+
+    /**
+     * Nome e foto do autor, que podem mudar sem alterar a postagem.
+     */
+    private static String autor(PostagemResumoDTO postagem) {
+        return postagem.getUsername() + "|" + postagem.getFoto();
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("feed.cartoes.consultas")
+                .description("Consultas ao cache de cartões de postagem por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private record ChaveCartao(String postagemId, String idioma, String variante, LocalDateTime versao) {}
+
+    /**
+     * HTML de um cartão, dividido nos pontos em que os dados do leitor são inseridos.
+     *
+     * @param partes            trechos de HTML fixos; há sempre um trecho a mais que marcadores.
+     * @param marcadores        marcadores entre os trechos, na ordem em que aparecem.
+     * @param autor             nome e foto do autor no momento da renderização.
+     * @param nanosRenderizacao tempo gasto para renderizar o cartão.
+     */
+    private record Cartao(List<String> partes, List<String> marcadores, String autor, long nanosRenderizacao) {
+
+        String montar(PostagemResumoDTO postagem) {
+            boolean curtido = Boolean.TRUE.equals(postagem.getCurtidoPeloUsuario());
+            StringBuilder html = new StringBuilder(partes.stream().mapToInt(String::length).sum() + 32);
+
+            for (int i = 0; i < marcadores.size(); i++) {
+                html.append(partes.get(i));
+                switch (marcadores.get(i)) {
+                    case "CURTIDA_BOTAO" -> html.append(curtido ? "text-danger" : "text-muted");
+                    case "CURTIDA_ICONE" -> html.append(curtido ? "bi-heart-fill" : "bi-heart");
+                    default -> html.append(Objects.requireNonNullElse(postagem.getTotalCurtidas(), 0L));
+                }
+            }
+            html.append(partes.get(partes.size() - 1));
+            return html.toString();
+        }
+    }
+}
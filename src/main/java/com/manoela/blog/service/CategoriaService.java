@@ -4,16 +4,27 @@ import com.manoela.blog.domain.categoria.Categoria;
 import com.manoela.blog.domain.categoria.CategoriaTraducao;
 import com.manoela.blog.repository.CategoriaRepository;
 import com.manoela.blog.repository.CategoriaTraducaoRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pelo gerenciamento de categorias e suas traduções.
+ * <p>
+ * As traduções das categorias mudam raramente, por isso ficam em um retrato imutável em memória,
+ * separado por idioma, carregado na inicialização. Consultas de categorias traduzidas não acessam
+ * o banco; quando as categorias forem alteradas, {@link #recarregar()} troca o retrato de forma atômica.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +33,29 @@ public class CategoriaService {
     private final CategoriaTraducaoRepository categoriaTraducaoRepository;
     private final CategoriaRepository categoriaRepository;
 
+    private final AtomicReference<RetratoCategorias> retrato = new AtomicReference<>(RetratoCategorias.VAZIO);
+
+    /**
+     * Carrega novamente as traduções de todas as categorias e substitui o retrato em memória.
+     * Leituras em andamento continuam usando o retrato anterior.
+     */
+    @PostConstruct
+    public void recarregar() {
+        Map<String, List<CategoriaTraducao>> porIdioma = categoriaTraducaoRepository.findAll().stream()
+                .sorted(Comparator.comparing(t -> t.getId().getCategoriaId()))
+                .collect(Collectors.groupingBy(t -> t.getId().getIdioma()));
+
+        retrato.set(new RetratoCategorias(
+                porIdioma.entrySet().stream().collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        e -> List.copyOf(e.getValue()))),
+                porIdioma.entrySet().stream().collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().stream().collect(Collectors.toUnmodifiableMap(
+                                t -> t.getId().getCategoriaId(), Function.identity()))))
+        ));
+    }
+
     /**
      * Retorna todas as traduções de categorias no idioma atual do contexto.
      *
@@ -29,7 +63,7 @@ public class CategoriaService {
      */
     public List<CategoriaTraducao> listarCategoriasTraduzidas() {
         String idiomaAtual = LocaleContextHolder.getLocale().toLanguageTag();
-        return categoriaTraducaoRepository.findById_Idioma(idiomaAtual);
+        return retrato.get().listas().getOrDefault(idiomaAtual, List.of());
     }
 
     /**
@@ -41,9 +75,8 @@ public class CategoriaService {
      */
     public CategoriaTraducao buscarCategoriaTraduzidaPorId(Integer idCategoria) {
         String idiomaAtual = LocaleContextHolder.getLocale().toLanguageTag();
-        return Optional.ofNullable(
-                categoriaTraducaoRepository.findById_CategoriaIdAndId_Idioma(idCategoria, idiomaAtual)
-        ).orElseThrow(() -> new NoSuchElementException("Tradução da categoria não encontrada"));
+        return Optional.ofNullable(retrato.get().porId().getOrDefault(idiomaAtual, Map.of()).get(idCategoria))
+                .orElseThrow(() -> new NoSuchElementException("Tradução da categoria não encontrada"));
     }
 
     /**
@@ -57,4 +90,13 @@ public class CategoriaService {
         return categoriaRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Categoria não encontrada"));
     }
+
+    /**
+     * Traduções de todas as categorias, por idioma, em listas ordenadas e indexadas pelo ID da categoria.
+     */
+    private record RetratoCategorias(Map<String, List<CategoriaTraducao>> listas,
+                                     Map<String, Map<Integer, CategoriaTraducao>> porId) {
+
+        static final RetratoCategorias VAZIO = new RetratoCategorias(Map.of(), Map.of());
+    }
 }
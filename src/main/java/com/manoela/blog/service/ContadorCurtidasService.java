@@ -0,0 +1,243 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serviço que mantém em memória o total de curtidas das postagens já lidas.
+ * <p>
+ * O total é gravado na coluna {@code like_count} da postagem, incrementada na mesma transação de cada curtida
+ * ({@link CurtidaService#curtir}, {@link CurtidaService#descurtir}), que também é a fonte do total após um
+ * reinício. Esta classe lê a coluna na primeira vez que o total de uma postagem é usado e, a partir daí,
+ * o atualiza após o commit de cada curtida ({@link LongAdder}), de forma que a leitura do total não consulte
+ * o banco.
+ * </p>
+ * <p>
+ * Uma leitura da coluna só é guardada em memória se nenhuma curtida da mesma faixa de postagens estava em
+ * andamento ou começou durante a leitura: uma curtida ainda não confirmada pode ou não estar na coluna lida,
+ * e somá-la de novo após o commit contaria a curtida duas vezes. A cada
+ * {@code feed.curtidas.intervalo-reconciliacao-ms} a coluna é comparada com a tabela de curtidas e corrigida
+ * onde divergir, e os totais em memória são descartados e lidos novamente.
+ * </p>
+ */
+@Service
+public class ContadorCurtidasService {
+
+    private static final int FAIXAS = 256;
+
+    private final PostagemRepository postagemRepository;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate transacaoLeitura;
+    private final Counter postagensCorrigidas;
+
+    /**
+     * Total atual das postagens já lidas.
+     */
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Por faixa de postagens: versão, incrementada no início e no fim de cada curtida, e quantidade de curtidas
+     * ainda não concluídas. Protegidas pela trava da faixa.
+     */
+    private final long[] versoes = new long[FAIXAS];
+    private final int[] emAndamento = new int[FAIXAS];
+    private final Object[] travas = new Object[FAIXAS];
+
+    public ContadorCurtidasService(PostagemRepository postagemRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.postagemRepository = postagemRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+
+        // Transação própria, para que a leitura da coluna seja posterior à verificação das curtidas em andamento
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.transacaoLeitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Arrays.setAll(travas, i -> new Object());
+
+        this.postagensCorrigidas = Counter.builder("feed.curtidas.corrigidas")
+                .description("Postagens com total de curtidas corrigido pela reconciliação")
+                .register(meterRegistry);
+        meterRegistry.gauge("feed.curtidas.postagens", contadores, Map::size);
+    }
+
+    /**
+     * Retorna o total de curtidas de uma postagem.
+     *
+     * @param postagemId ID da postagem.
+     * @return total de curtidas, ou 0 se a postagem não existir.
+     */
+    public long total(String postagemId) {
+        LongAdder contador = contadores.get(postagemId);
+        if (contador != null) {
+            return contador.sum();
+        }
+        return carregar(List.of(postagemId)).getOrDefault(postagemId, 0L);
+    }
+
+    /**
+     * Retorna o total de curtidas de várias postagens, lendo do banco, em uma única consulta,
+     * apenas as que ainda não estão em memória.
+     *
+     * @param postagemIds IDs das postagens.
+     * @return total de cada postagem existente.
+     */
+    public Map<String, Long> totais(Collection<String> postagemIds) {
+        Map<String, Long> totais = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String postagemId : postagemIds) {
+            LongAdder contador = contadores.get(postagemId);
+            if (contador != null) {
+                totais.put(postagemId, contador.sum());
+            } else {
+                faltantes.add(postagemId);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            totais.putAll(carregar(faltantes));
+        }
+        return totais;
+    }
+
+    /**
+     * Registra a curtida ou descurtida gravada na transação atual. O total em memória é atualizado após o commit.
+     * Deve ser chamado depois de a coluna {@code like_count} ser atualizada e antes do commit.
+     *
+     * @param postagemId ID da postagem.
+     * @param variacao   {@code 1} para uma curtida, {@code -1} para uma descurtida.
+     */
+    public void registrarVariacao(String postagemId, int variacao) {
+        int faixa = faixa(postagemId);
+        synchronized (travas[faixa]) {
+            versoes[faixa]++;
+            emAndamento[faixa]++;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            concluir(postagemId, variacao, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                concluir(postagemId, variacao, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Descarta o total de uma postagem excluída.
+     *
+     * @param evento postagem alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        if (!evento.excluida()) {
+            return;
+        }
+        int faixa = faixa(evento.postagemId());
+        synchronized (travas[faixa]) {
+            versoes[faixa]++;
+            contadores.remove(evento.postagemId());
+        }
+    }
+
+    /**
+     * Corrige o total gravado das postagens em que ele difere da tabela de curtidas e descarta os totais em
+     * memória, que são lidos novamente da coluna corrigida.
+     */
+    @Scheduled(fixedDelayString = "${feed.curtidas.intervalo-reconciliacao-ms:3600000}")
+    public void reconciliar() {
+        Integer corrigidas = transacao.execute(status -> postagemRepository.reconciliarCurtidas());
+        if (corrigidas != null && corrigidas > 0) {
+            postagensCorrigidas.increment(corrigidas);
+        }
+
+        // Leituras iniciadas antes da correção não são guardadas
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            synchronized (travas[faixa]) {
+                versoes[faixa]++;
+            }
+        }
+        contadores.clear();
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    /**
+     * Lê do banco o total das postagens e guarda em memória os que não podem ter sido afetados por curtidas
+     * concorrentes com a leitura.
+     */
+    private Map<String, Long> carregar(List<String> postagemIds) {
+        Map<String, Long> versoesIniciais = new HashMap<>();
+        for (String postagemId : postagemIds) {
+            int faixa = faixa(postagemId);
+            synchronized (travas[faixa]) {
+                if (emAndamento[faixa] == 0) {
+                    versoesIniciais.put(postagemId, versoes[faixa]);
+                }
+            }
+        }
+
+        Map<String, Long> totais = new HashMap<>();
+        transacaoLeitura.executeWithoutResult(status -> postagemRepository.buscarTotaisCurtidas(postagemIds)
+                .forEach(linha -> totais.put((String) linha[0], (Long) linha[1])));
+
+        totais.forEach((postagemId, total) -> {
+            Long versaoInicial = versoesIniciais.get(postagemId);
+            if (versaoInicial == null) {
+                return;
+            }
+            int faixa = faixa(postagemId);
+            synchronized (travas[faixa]) {
+                if (versoes[faixa] == versaoInicial) {
+                    contadores.computeIfAbsent(postagemId, id -> adicionador(total));
+                }
+            }
+        });
+        return totais;
+    }
+
+    private void concluir(String postagemId, int variacao, boolean confirmada) {
+        int faixa = faixa(postagemId);
+        synchronized (travas[faixa]) {
+            if (confirmada) {
+                LongAdder contador = contadores.get(postagemId);
+                if (contador != null) {
+                    contador.add(variacao);
+                }
+            }
+            emAndamento[faixa]--;
+            versoes[faixa]++;
+        }
+    }
+
+    private static int faixa(String postagemId) {
+        return Math.floorMod(postagemId.hashCode(), FAIXAS);
+    }
+
+    private static LongAdder adicionador(long valor) {
+        LongAdder adicionador = new LongAdder();
+        adicionador.add(valor);
+        return adicionador;
+    }
+}
@@ -1,17 +1,18 @@
 package com.manoela.blog.service;
 
 import com.manoela.blog.domain.categoria.CategoriaTraducao;
-import com.manoela.blog.domain.curtida.Curtida;
-import com.manoela.blog.domain.curtida.CurtidaId;
-import com.manoela.blog.domain.postagem.Postagem;
-import com.manoela.blog.domain.usuario.Usuario;
 import com.manoela.blog.dto.CategoriaGraficoDTO;
 import com.manoela.blog.dto.CategoriaQuantidadeDTO;
+import com.manoela.blog.event.CurtidaAlteradaEvent;
 import com.manoela.blog.repository.CurtidaRepository;
 import com.manoela.blog.repository.PostagemRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,35 +35,97 @@ public class CurtidaService {
     private final CurtidaRepository curtidaRepository;
     private final PostagemRepository postagemRepository;
     private final CategoriaService categoriaService;
-    private final UsuarioService usuarioService;
+    private final ContadorCurtidasService contadorCurtidas;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Registra a curtida de um usuário em uma postagem, se ainda não existir.
+     * <p>
+     * Executa, em uma transação, até três comandos, sem carregar usuário e postagem: bloqueia a linha da
+     * postagem ({@code SELECT ... FOR UPDATE}), insere a curtida se ela não existir e, apenas quando a
+     * curtida foi criada, incrementa o total ({@code like_count}). O bloqueio é obtido antes da inserção
+     * porque a chave estrangeira da curtida bloqueia a postagem em modo compartilhado, e duas curtidas
+     * simultâneas que depois atualizassem o total travariam uma à outra. Com isso, as curtidas de uma mesma
+     * postagem são gravadas uma de cada vez, e pedidos repetidos ou simultâneos do mesmo usuário resultam em
+     * uma única curtida.
+     * </p>
+     *
+     * @param usuarioId  o ID do usuário que curte a postagem
+     * @param postagemId o ID da postagem curtida
+     * @return {@code true} se a curtida foi criada, {@code false} se já existia
+     * @throws EntityNotFoundException caso a postagem com o ID fornecido não seja encontrada
+     */
+    @Transactional
+    public boolean curtir(String usuarioId, String postagemId) {
+        if (postagemRepository.bloquearPostagem(postagemId) == null) {
+            throw new EntityNotFoundException("Postagem não encontrada");
+        }
+
+        LocalDateTime dataCurtida = LocalDateTime.now();
+        if (curtidaRepository.inserirSeAusente(usuarioId, postagemId, dataCurtida) == 0) {
+            return false;
+        }
+
+        postagemRepository.somarCurtidas(postagemId, 1);
+        contadorCurtidas.registrarVariacao(postagemId, 1);
+        eventPublisher.publishEvent(new CurtidaAlteradaEvent(postagemId, usuarioId, true, dataCurtida));
+        return true;
+    }
+
+    /**
+     * Remove a curtida de um usuário em uma postagem, se existir.
+     * <p>
+     * Executa, em uma transação, até quatro comandos: bloqueia a linha da postagem
+     * ({@code SELECT ... FOR UPDATE}), como em {@link #curtir}, lê a data da curtida, remove a curtida e,
+     * apenas quando ela existia, decrementa o total ({@code like_count}). Pedidos repetidos ou simultâneos
+     * descontam a curtida uma única vez do total da postagem.
+     * </p>
+     *
+     * @param usuarioId  o ID do usuário que descurte a postagem
+     * @param postagemId o ID da postagem descurtida
+     * @return {@code true} se a curtida foi removida, {@code false} se não existia
+     * @throws EntityNotFoundException caso a postagem com o ID fornecido não seja encontrada
+     */
+    @Transactional
+    public boolean descurtir(String usuarioId, String postagemId) {
+        if (postagemRepository.bloquearPostagem(postagemId) == null) {
+            throw new EntityNotFoundException("Postagem não encontrada");
+        }
+
+        // Lida antes da remoção para descontar a curtida das tendências com o peso da data em que foi feita
+        LocalDateTime dataCurtida = curtidaRepository.buscarDataCurtida(usuarioId, postagemId);
+        if (curtidaRepository.removerCurtida(usuarioId, postagemId) == 0) {
+            return false;
+        }
+
+        postagemRepository.somarCurtidas(postagemId, -1);
+        contadorCurtidas.registrarVariacao(postagemId, -1);
+        eventPublisher.publishEvent(new CurtidaAlteradaEvent(postagemId, usuarioId, false,
+                dataCurtida != null ? dataCurtida : LocalDateTime.now()));
+        return true;
+    }
 
     /**
      * Alterna a curtida de uma postagem por um usuário.
      * <p>
      * Se o usuário já curtiu a postagem, a curtida é removida.
-     * Caso contrário, uma nova curtida é adicionada.
+     * Caso contrário, uma nova curtida é adicionada. Prefira {@link #curtir} e {@link #descurtir},
+     * que informam o estado desejado e não dependem do estado lido.
      * </p>
      *
      * @param usuarioId  o ID do usuário que realizará a ação de curtir ou descurtir
      * @param postagemId o ID da postagem que será curtida ou descurtida
      * @return {@code true} se a postagem foi curtida após a operação, {@code false} se a curtida foi removida
-     * @throws RuntimeException caso a postagem com o ID fornecido não seja encontrada
+     * @throws EntityNotFoundException caso a postagem com o ID fornecido não seja encontrada
      */
+    @Transactional
     public boolean toggleCurtida(String usuarioId, String postagemId) {
-        CurtidaId id = new CurtidaId(usuarioId, postagemId);
-
-        return curtidaRepository.findById(id)
-                .map(curtida -> {
-                    curtidaRepository.delete(curtida);
-                    return false;
-                })
-                .orElseGet(() -> {
-                    Usuario usuario = usuarioService.buscarUsuarioPorId(usuarioId);
-                    Postagem postagem = postagemRepository.findById(postagemId)
-                            .orElseThrow(() -> new RuntimeException("Postagem não encontrada"));
-                    curtidaRepository.save(new Curtida(id, usuario, postagem, null));
-                    return true;
-                });
+        if (foiCurtidoPorUsuario(usuarioId, postagemId)) {
+            descurtir(usuarioId, postagemId);
+            return false;
+        }
+        curtir(usuarioId, postagemId);
+        return true;
     }
 
     /**
@@ -77,13 +140,13 @@ public class CurtidaService {
     }
 
     /**
-     * Obtém o total de curtidas de uma postagem.
+     * Obtém o total de curtidas de uma postagem, mantido em memória pelo {@link ContadorCurtidasService}.
      *
      * @param postagemId o ID da postagem
      * @return a quantidade total de curtidas da postagem
      */
     public int totalCurtidas(String postagemId) {
-        return (int) curtidaRepository.countByPostagemId(postagemId);
+        return (int) contadorCurtidas.total(postagemId);
     }
 
     /**
@@ -93,7 +156,7 @@ public class CurtidaService {
      * @return um mapa onde a chave é o ID da postagem e o valor é a quantidade de curtidas correspondentes
      */
     public Map<String, Long> contarCurtidasPorPostagens(List<String> idsPostagens) {
-        return curtidaRepository.contarCurtidasPorPostagens(idsPostagens)
+        return postagemRepository.buscarTotaisCurtidas(idsPostagens)
                 .stream()
                 .collect(Collectors.toMap(
                         row -> (String) row[0],
@@ -0,0 +1,88 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.service.TraducaoSegmentadaService.PostagemTraduzida;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Serviço que traduz uma postagem para vários idiomas alvo ao mesmo tempo.
+ * <p>
+ * Cada idioma é traduzido em uma tarefa própria e todas são aguardadas até um prazo único,
+ * de forma que o tempo total acompanhe o idioma mais lento, e não a soma de todos.
+ * Idiomas que falham ou não terminam dentro do prazo ficam fora do resultado, sem afetar os demais, e
+ * a thread que os traduz é interrompida: os próximos lotes do idioma não são enviados à API, liberando
+ * as vagas do bulkhead, e o lote em andamento termina no tempo limite de leitura do cliente HTTP.
+ * </p>
+ */
+@Service
+public class FanOutTraducaoService {
+
+    private final TraducaoSegmentadaService traducaoSegmentadaService;
+    private final AsyncTaskExecutor fanOutExecutor;
+    private final Timer duracao;
+
+    /**
+     * Prazo, em milissegundos, para a tradução de todos os idiomas de uma postagem.
+     */
+    @Value("${traducao.fanout.prazo-ms:30000}")
+    private long prazo;
+
+    public FanOutTraducaoService(TraducaoSegmentadaService traducaoSegmentadaService,
+                                 @Qualifier("traducaoFanOutExecutor") AsyncTaskExecutor fanOutExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.traducaoSegmentadaService = traducaoSegmentadaService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.duracao = Timer.builder("traducao.fanout.duracao")
+                .description("Tempo para traduzir uma postagem para todos os idiomas alvo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Traduz o título e o conteúdo de uma postagem para todos os idiomas informados em paralelo.
+     *
+     * @param titulo       Título no idioma de origem.
+     * @param conteudo     Conteúdo no idioma de origem.
+     * @param idiomaOrigem Código do idioma de origem.
+     * @param idiomasAlvo  Códigos dos idiomas de destino.
+     * @return Mapa do idioma alvo para a postagem traduzida, contendo apenas os idiomas concluídos com sucesso.
+     */
+    public Map<String, PostagemTraduzida> traduzirParaIdiomas(String titulo, String conteudo,
+                                                             String idiomaOrigem, Collection<String> idiomasAlvo) {
+        return duracao.record(() -> {
+            Map<String, Future<PostagemTraduzida>> tarefas = new LinkedHashMap<>();
+            for (String idiomaAlvo : idiomasAlvo) {
+                // FutureTask, e não CompletableFuture, para que cancel(true) interrompa a thread
+                tarefas.put(idiomaAlvo, fanOutExecutor.submit(
+                        () -> traducaoSegmentadaService.traduzir(titulo, conteudo, idiomaOrigem, idiomaAlvo)));
+            }
+
+            long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(prazo);
+            Map<String, PostagemTraduzida> traduzidas = new HashMap<>();
+
+            for (Map.Entry<String, Future<PostagemTraduzida>> tarefa : tarefas.entrySet()) {
+                try {
+                    PostagemTraduzida traduzida = tarefa.getValue().get(
+                            Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (traduzida != null) {
+                        traduzidas.put(tarefa.getKey(), traduzida);
+                    }
+                } catch (TimeoutException | ExecutionException e) {
+                    tarefa.getValue().cancel(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    tarefas.values().forEach(f -> f.cancel(true));
+                    break;
+                }
+            }
+
+            return traduzidas;
+        });
+    }
+}
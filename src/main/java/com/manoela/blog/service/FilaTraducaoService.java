@@ -0,0 +1,297 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.postagem.Postagem;
+import com.manoela.blog.domain.postagem.PostagemTraducao;
+import com.manoela.blog.domain.traducao.StatusTarefaTraducao;
+import com.manoela.blog.domain.traducao.TarefaTraducao;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.repository.TarefaTraducaoRepository;
+import com.manoela.blog.service.TraducaoSegmentadaService.PostagemTraduzida;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável pela fila de traduções (outbox) das postagens.
+ * <p>
+ * As tarefas são registradas na mesma transação que grava a postagem e processadas
+ * por um pool limitado de threads, de forma que a requisição do autor não aguarde
+ * as chamadas HTTP à API de tradução. As tarefas de uma mesma postagem são processadas
+ * juntas, com todos os idiomas alvo traduzidos em paralelo.
+ * </p>
+ * <p>
+ * Uma tradução que falha volta para a fila com espera exponencial entre as tentativas; ao esgotar
+ * as tentativas, a tarefa fica no estado {@link StatusTarefaTraducao#ERRO} para análise. A quantidade
+ * de tarefas pendentes e a idade da mais antiga são exportadas como métricas, de forma que uma
+ * indisponibilidade do servidor de tradução apareça como acúmulo na fila.
+ * </p>
+ */
+@Service
+public class FilaTraducaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaTraducaoService.class);
+
+    private final TarefaTraducaoRepository tarefaRepository;
+    private final PostagemRepository postagemRepository;
+    private final TraducaoService traducaoService;
+    private final FanOutTraducaoService fanOutTraducaoService;
+    private final TaskExecutor traducaoExecutor;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Quantidade máxima de tarefas reservadas a cada ciclo de processamento.
+     */
+    @Value("${traducao.fila.tamanho-lote:20}")
+    private int tamanhoLote;
+
+    /**
+     * Quantidade máxima de tentativas antes de a tarefa ser descartada.
+     */
+    @Value("${traducao.fila.max-tentativas:6}")
+    private int maxTentativas;
+
+    /**
+     * Espera, em milissegundos, antes da primeira nova tentativa. Dobra a cada falha.
+     */
+    @Value("${traducao.fila.espera-base-ms:10000}")
+    private long esperaBase;
+
+    /**
+     * Espera máxima, em milissegundos, entre duas tentativas.
+     */
+    @Value("${traducao.fila.espera-max-ms:3600000}")
+    private long esperaMaxima;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong idadePendenteMaisAntiga = new AtomicLong();
+
+    public FilaTraducaoService(TarefaTraducaoRepository tarefaRepository,
+                               PostagemRepository postagemRepository,
+                               TraducaoService traducaoService,
+                               FanOutTraducaoService fanOutTraducaoService,
+                               @Qualifier("traducaoExecutor") TaskExecutor traducaoExecutor,
+                               TaskScheduler taskScheduler,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.tarefaRepository = tarefaRepository;
+        this.postagemRepository = postagemRepository;
+        this.traducaoService = traducaoService;
+        this.fanOutTraducaoService = fanOutTraducaoService;
+        this.traducaoExecutor = traducaoExecutor;
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("traducao.fila.pendentes", pendentes, AtomicLong::get)
+                .description("Tarefas de tradução aguardando processamento")
+                .register(meterRegistry);
+        Gauge.builder("traducao.fila.descartadas", descartadas, AtomicLong::get)
+                .description("Tarefas de tradução que esgotaram as tentativas")
+                .register(meterRegistry);
+        Gauge.builder("traducao.fila.idade_mais_antiga", idadePendenteMaisAntiga, AtomicLong::get)
+                .description("Idade da tarefa pendente mais antiga")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma tarefa de tradução da postagem para o idioma alvo.
+     * <p>
+     * Se já houver uma tarefa pendente para a mesma postagem e idioma, nenhuma nova tarefa é criada,
+     * pois o worker sempre lê o texto de origem mais recente. Após o commit da transação atual,
+     * o processamento da fila é disparado imediatamente.
+     * </p>
+     *
+     * @param postagemId   ID da postagem.
+     * @param idiomaOrigem idioma em que a postagem foi escrita.
+     * @param idiomaAlvo   idioma para o qual a postagem será traduzida.
+     */
+    public void enfileirar(String postagemId, String idiomaOrigem, String idiomaAlvo) {
+        if (!tarefaRepository.existsByPostagemIdAndIdiomaAlvoAndStatus(postagemId, idiomaAlvo, StatusTarefaTraducao.PENDENTE)) {
+            TarefaTraducao tarefa = new TarefaTraducao();
+            tarefa.setPostagemId(postagemId);
+            tarefa.setIdiomaOrigem(idiomaOrigem);
+            tarefa.setIdiomaAlvo(idiomaAlvo);
+            tarefa.setStatus(StatusTarefaTraducao.PENDENTE);
+            tarefaRepository.save(tarefa);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    taskScheduler.schedule(FilaTraducaoService.this::processarPendentes, Instant.now());
+                }
+            });
+        }
+    }
+
+    /**
+     * Reserva as tarefas pendentes mais antigas e as envia para o pool de tradução,
+     * agrupadas por postagem. Executado periodicamente e também logo após o commit de uma nova postagem.
+     */
+    @Scheduled(fixedDelayString = "${traducao.fila.intervalo-ms:5000}")
+    public void processarPendentes() {
+        atualizarMetricas();
+
+        List<TarefaTraducao> reservadas = tarefaRepository.buscarProntasParaProcessar(
+                        LocalDateTime.now(), PageRequest.of(0, tamanhoLote))
+                .stream()
+                .filter(tarefa -> tarefaRepository.alterarStatus(tarefa.getId(), StatusTarefaTraducao.PENDENTE,
+                        StatusTarefaTraducao.EM_PROCESSAMENTO, LocalDateTime.now()) == 1)
+                .toList();
+
+        Map<String, List<TarefaTraducao>> porPostagem = reservadas.stream()
+                .collect(Collectors.groupingBy(t -> t.getPostagemId() + "|" + t.getIdiomaOrigem(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        for (List<TarefaTraducao> grupo : porPostagem.values()) {
+            try {
+                traducaoExecutor.execute(() -> processar(grupo));
+            } catch (TaskRejectedException e) {
+                // Pool cheio: devolve a tarefa para a fila até o próximo ciclo
+                grupo.forEach(tarefa -> tarefaRepository.alterarStatus(tarefa.getId(),
+                        StatusTarefaTraducao.EM_PROCESSAMENTO, StatusTarefaTraducao.PENDENTE, LocalDateTime.now()));
+            }
+        }
+    }
+
+    /**
+     * Devolve para a fila as tarefas que estavam em processamento quando a aplicação foi encerrada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recuperarTarefasInterrompidas() {
+        tarefaRepository.alterarStatusEmLote(StatusTarefaTraducao.EM_PROCESSAMENTO,
+                StatusTarefaTraducao.PENDENTE, LocalDateTime.now());
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void processar(List<TarefaTraducao> grupo) {
+        Map<String, PostagemTraduzida> traduzidas;
+        String erro = "Servidor de tradução indisponível ou sem resposta no prazo";
+        try {
+            traduzidas = traduzir(grupo);
+        } catch (RuntimeException e) {
+            log.warn("Erro ao traduzir postagem {}", grupo.get(0).getPostagemId(), e);
+            traduzidas = Map.of();
+            erro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        for (TarefaTraducao tarefa : grupo) {
+            if (traduzidas.containsKey(tarefa.getIdiomaAlvo())) {
+                tarefaRepository.registrarTentativa(tarefa.getId(), StatusTarefaTraducao.CONCLUIDA, LocalDateTime.now());
+            } else {
+                registrarFalha(tarefa, erro);
+            }
+        }
+    }
+
+    private void registrarFalha(TarefaTraducao tarefa, String erro) {
+        LocalDateTime agora = LocalDateTime.now();
+        String motivo = erro.length() > 500 ? erro.substring(0, 500) : erro;
+
+        if (tarefa.getTentativas() + 1 >= maxTentativas) {
+            log.error("Tradução da postagem {} para {} descartada após {} tentativas: {}",
+                    tarefa.getPostagemId(), tarefa.getIdiomaAlvo(), tarefa.getTentativas() + 1, motivo);
+            tarefaRepository.descartar(tarefa.getId(), motivo, agora);
+        } else {
+            Duration espera = calcularEspera(tarefa.getTentativas());
+            log.warn("Tradução da postagem {} para {} falhou (tentativa {}), nova tentativa em {} s: {}",
+                    tarefa.getPostagemId(), tarefa.getIdiomaAlvo(), tarefa.getTentativas() + 1, espera.toSeconds(), motivo);
+            tarefaRepository.agendarNovaTentativa(tarefa.getId(), agora.plus(espera), motivo, agora);
+        }
+    }
+
+    /**
+     * Calcula a espera antes da próxima tentativa: dobra a cada falha, até o limite configurado.
+     */
+    private Duration calcularEspera(int tentativasAnteriores) {
+        long espera = esperaBase << Math.min(tentativasAnteriores, 20);
+        return Duration.ofMillis(Math.min(espera, esperaMaxima));
+    }
+
+    private void atualizarMetricas() {
+        pendentes.set(tarefaRepository.countByStatus(StatusTarefaTraducao.PENDENTE));
+        descartadas.set(tarefaRepository.countByStatus(StatusTarefaTraducao.ERRO));
+
+        LocalDateTime maisAntiga = tarefaRepository.buscarDataCriacaoMaisAntiga(StatusTarefaTraducao.PENDENTE);
+        idadePendenteMaisAntiga.set(maisAntiga != null
+                ? Duration.between(maisAntiga, LocalDateTime.now()).toSeconds()
+                : 0);
+    }
+
+    private Map<String, PostagemTraduzida> traduzir(List<TarefaTraducao> grupo) {
+        TarefaTraducao primeira = grupo.get(0);
+        Optional<Postagem> postagem = postagemRepository.findById(primeira.getPostagemId());
+        Optional<PostagemTraducao> origem = traducaoService.buscarTraducaoOptional(
+                primeira.getPostagemId(), primeira.getIdiomaOrigem());
+        if (postagem.isEmpty() || origem.isEmpty()) {
+            return Map.of();
+        }
+
+        String postagemId = primeira.getPostagemId();
+        String idiomaOrigem = primeira.getIdiomaOrigem();
+        String titulo = origem.get().getTitulo();
+        String conteudo = origem.get().getConteudo();
+
+        List<String> idiomasAlvo = grupo.stream().map(TarefaTraducao::getIdiomaAlvo).distinct().toList();
+        Map<String, PostagemTraduzida> traduzidas = fanOutTraducaoService.traduzirParaIdiomas(
+                titulo, conteudo, idiomaOrigem, idiomasAlvo);
+
+        // A edição feita durante a tradução registrou novas tarefas (ou, no modo sob demanda, marcou as
+        // traduções como provisórias): as tarefas atuais são concluídas sem gravar o texto antigo
+        if (traduzidas.isEmpty() || traducaoService.origemAlterada(postagemId, idiomaOrigem, titulo, conteudo)) {
+            return traduzidas;
+        }
+
+        traduzidas.forEach((idiomaAlvo, traduzida) ->
+                traducaoService.salvarTraducao(postagem.get(), idiomaAlvo, traduzida.titulo(), traduzida.conteudo()));
+
+        // Uma edição concluída entre a verificação e a gravação deixaria a tradução antiga como definitiva,
+        // inclusive sobre a tradução de uma tarefa mais nova já concluída
+        if (traducaoService.origemAlterada(postagemId, idiomaOrigem, titulo, conteudo)) {
+            reenfileirar(postagemId, traduzidas.keySet());
+        }
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagemId, false));
+        return traduzidas;
+    }
+
+    /**
+     * Registra novamente a tradução dos idiomas a partir do idioma de origem atual da postagem.
+     */
+    private void reenfileirar(String postagemId, Collection<String> idiomasAlvo) {
+        postagemRepository.findById(postagemId)
+                .map(Postagem::getIdiomaOrigem)
+                .ifPresent(idiomaOrigem -> idiomasAlvo.stream()
+                        .filter(idiomaAlvo -> !idiomaAlvo.equals(idiomaOrigem))
+                        .forEach(idiomaAlvo -> enfileirar(postagemId, idiomaOrigem, idiomaAlvo)));
+    }
+}
@@ -0,0 +1,177 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.client.LibreTranslateClient;
+import com.manoela.blog.domain.traducao.MemoriaTraducao;
+import com.manoela.blog.domain.traducao.MemoriaTraducaoId;
+import com.manoela.blog.repository.MemoriaTraducaoRepository;
+import com.manoela.blog.util.CacheLru;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Serviço de memória de tradução, consultado antes de qualquer chamada à API LibreTranslate.
+ * <p>
+ * As traduções são identificadas pelo hash do texto de origem e pelo par de idiomas, e ficam
+ * armazenadas em duas camadas: um cache LRU em memória e a tabela {@code memoria_traducao}.
+ * Apenas os textos ausentes nas duas camadas são enviados para a API.
+ * </p>
+ */
+@Service
+public class MemoriaTraducaoService {
+
+    private final MemoriaTraducaoRepository memoriaRepository;
+    private final LibreTranslateClient traducaoClient;
+    private final TransactionTemplate transacao;
+    private final CacheLru<MemoriaTraducaoId, String> cache;
+
+    private final Counter acertosMemoria;
+    private final Counter acertosBanco;
+    private final Counter faltas;
+
+    public MemoriaTraducaoService(MemoriaTraducaoRepository memoriaRepository,
+                                  LibreTranslateClient traducaoClient,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${traducao.memoria.capacidade:5000}") int capacidade) {
+        this.memoriaRepository = memoriaRepository;
+        this.traducaoClient = traducaoClient;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.cache = new CacheLru<>(capacidade);
+
+        this.acertosMemoria = contador(meterRegistry, "acerto_memoria");
+        this.acertosBanco = contador(meterRegistry, "acerto_banco");
+        this.faltas = contador(meterRegistry, "falta");
+        meterRegistry.gauge("traducao.memoria.itens", cache, CacheLru::size);
+    }
+
+    /**
+     * Traduz um texto consultando primeiro a memória de tradução.
+     *
+     * @param texto        Texto original a ser traduzido.
+     * @param idiomaOrigem Código do idioma de origem.
+     * @param idiomaAlvo   Código do idioma de destino.
+     * @return Texto traduzido, ou {@code null} caso a API de tradução falhe.
+     */
+    public String traduzir(String texto, String idiomaOrigem, String idiomaAlvo) {
+        List<String> traduzidos = traduzirLote(List.of(texto), idiomaOrigem, idiomaAlvo);
+        return traduzidos != null ? traduzidos.get(0) : null;
+    }
+
+    /**
+     * Traduz vários textos consultando primeiro a memória de tradução.
+     * Os textos não encontrados são enviados à API em lote e gravados na memória.
+     *
+     * @param textos       Textos originais a serem traduzidos.
+     * @param idiomaOrigem Código do idioma de origem.
+     * @param idiomaAlvo   Código do idioma de destino.
+     * @return Textos traduzidos na mesma ordem dos originais, ou {@code null} caso a API de tradução falhe.
+     */
+    public List<String> traduzirLote(List<String> textos, String idiomaOrigem, String idiomaAlvo) {
+        LoteTraduzido lote = traduzirLoteDetalhado(textos, idiomaOrigem, idiomaAlvo);
+        return lote != null ? lote.textos() : null;
+    }
+
+    /**
+     * Traduz vários textos consultando primeiro a memória de tradução, informando
+     * quantos textos foram reaproveitados e quantos precisaram ser enviados à API.
+     *
+     * @param textos       Textos originais a serem traduzidos.
+     * @param idiomaOrigem Código do idioma de origem.
+     * @param idiomaAlvo   Código do idioma de destino.
+     * @return {@link LoteTraduzido} com os textos traduzidos, ou {@code null} caso a API de tradução falhe.
+     */
+    public LoteTraduzido traduzirLoteDetalhado(List<String> textos, String idiomaOrigem, String idiomaAlvo) {
+        String[] traduzidos = new String[textos.size()];
+        Map<MemoriaTraducaoId, List<Integer>> ausentes = new LinkedHashMap<>();
+
+        for (int i = 0; i < textos.size(); i++) {
+            MemoriaTraducaoId id = new MemoriaTraducaoId(hash(textos.get(i)), idiomaOrigem, idiomaAlvo);
+            String traduzido = cache.get(id);
+            if (traduzido != null) {
+                acertosMemoria.increment();
+                traduzidos[i] = traduzido;
+            } else {
+                ausentes.computeIfAbsent(id, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (!ausentes.isEmpty()) {
+            for (MemoriaTraducao memoria : memoriaRepository.findAllById(ausentes.keySet())) {
+                acertosBanco.increment();
+                cache.put(memoria.getId(), memoria.getTextoTraduzido());
+                for (int i : ausentes.remove(memoria.getId())) {
+                    traduzidos[i] = memoria.getTextoTraduzido();
+                }
+            }
+        }
+
+        int retraduzidos = ausentes.values().stream().mapToInt(List::size).sum();
+        if (!ausentes.isEmpty()) {
+            List<MemoriaTraducaoId> ids = new ArrayList<>(ausentes.keySet());
+            List<String> originais = ids.stream().map(id -> textos.get(ausentes.get(id).get(0))).toList();
+            faltas.increment(ids.size());
+
+            List<String> resultado = traducaoClient.traduzirLote(originais, idiomaOrigem, idiomaAlvo);
+            if (resultado == null) {
+                return null;
+            }
+
+            Map<MemoriaTraducaoId, String> novas = new LinkedHashMap<>();
+            for (int j = 0; j < ids.size(); j++) {
+                novas.put(ids.get(j), resultado.get(j));
+                for (int i : ausentes.get(ids.get(j))) {
+                    traduzidos[i] = resultado.get(j);
+                }
+            }
+            memorizar(novas);
+        }
+
+        return new LoteTraduzido(Arrays.asList(traduzidos), textos.size() - retraduzidos, retraduzidos);
+    }
+
+    /**
+     * Resultado de uma tradução em lote feita através da memória de tradução.
+     *
+     * @param textos       textos traduzidos, na ordem dos originais.
+     * @param reutilizados quantidade de textos encontrados na memória.
+     * @param retraduzidos quantidade de textos que precisaram ser traduzidos pela API.
+     */
+    public record LoteTraduzido(List<String> textos, int reutilizados, int retraduzidos) {}
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    /**
+     * Grava as novas traduções em uma única transação, sem consultar antes se já existem: um texto
+     * traduzido ao mesmo tempo por outro worker é ignorado pelo banco.
+     */
+    private void memorizar(Map<MemoriaTraducaoId, String> novas) {
+        novas.forEach(cache::put);
+        transacao.executeWithoutResult(status -> novas.forEach((id, traduzido) ->
+                memoriaRepository.inserirSeAusente(id.getHash(), id.getIdiomaOrigem(), id.getIdiomaAlvo(), traduzido)));
+    }
+
+    private static String hash(String texto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("traducao.memoria.consultas")
+                .description("Consultas à memória de tradução por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
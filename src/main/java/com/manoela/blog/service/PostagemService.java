@@ -1,23 +1,31 @@
 package com.manoela.blog.service;
 
-import com.manoela.blog.client.LibreTranslateClient;
 import com.manoela.blog.domain.categoria.Categoria;
 import com.manoela.blog.domain.categoria.CategoriaTraducao;
 import com.manoela.blog.domain.postagem.Postagem;
 import com.manoela.blog.domain.postagem.PostagemTraducao;
+import com.manoela.blog.domain.traducao.ModoTraducao;
 import com.manoela.blog.domain.usuario.Usuario;
 import com.manoela.blog.dto.*;
+import com.manoela.blog.event.PostagemAlteradaEvent;
 import com.manoela.blog.repository.*;
 import com.manoela.blog.security.SecurityUtil;
+import com.manoela.blog.util.CursorFeed;
 import com.manoela.blog.util.IdiomaUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pelo gerenciamento de postagens, incluindo criação,
@@ -31,14 +39,61 @@ public class PostagemService {
     private final CategoriaService categoriaService;
     private final CurtidaService curtidaService;
     private final ArquivoService arquivoService;
-    private final LibreTranslateClient traducaoClient;
     private final TraducaoService traducaoService;
+    private final FilaTraducaoService filaTraducaoService;
+    private final TimelineFeedService timelineFeedService;
+    private final TendenciasService tendenciasService;
+    private final AfinidadeCategoriasService afinidadeCategoriasService;
+    private final RelacionadasService relacionadasService;
     private final SecurityUtil securityUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final List<String> IDIOMAS_SUPORTADOS = List.of("pt-BR", "en", "es");
 
+    /**
+     * Define se as traduções são feitas ao salvar a postagem ou apenas quando ela é lida.
+     */
+    @Value("${traducao.modo:ANTECIPADO}")
+    private ModoTraducao modoTraducao;
+
+    /**
+     * Quantidade de postagens exibidas em cada página do feed.
+     */
+    @Value("${feed.tamanho-pagina:20}")
+    private int tamanhoPagina;
+
+    /**
+     * Quantidade máxima de postagens entregues por requisição ao feed em JSON.
+     */
+    @Value("${feed.api.limite-maximo:500}")
+    private int limiteMaximoApi;
+
+    /**
+     * Idade, em horas, com que uma postagem perde metade da relevância no feed "para você".
+     */
+    @Value("${feed.para-voce.meia-vida-horas:24}")
+    private double meiaVidaParaVoceHoras;
+
+    /**
+     * Peso da afinidade do leitor com a categoria no feed "para você": com peso 2, uma postagem da única
+     * categoria curtida pelo leitor vale o triplo de uma postagem da mesma idade em outra categoria.
+     */
+    @Value("${feed.para-voce.peso-afinidade:2.0}")
+    private double pesoAfinidade;
+
+    /**
+     * Quantidade de postagens relacionadas exibidas na página de uma postagem.
+     */
+    @Value("${feed.relacionadas.quantidade:5}")
+    private int quantidadeRelacionadas;
+
     /**
      * Cria uma nova postagem com suporte a tradução automática.
+     * <p>
+     * O texto original é gravado imediatamente e também como tradução provisória nos demais idiomas.
+     * No modo antecipado as traduções definitivas são registradas na fila e processadas em segundo plano;
+     * no modo sob demanda cada uma é feita na primeira leitura da postagem no respectivo idioma.
+     * </p>
      *
      * @param dto     dados da nova postagem
      * @param usuario usuário autor da postagem
@@ -52,6 +107,7 @@ public class PostagemService {
         Postagem postagem = new Postagem();
         postagem.setCategoria(categoria);
         postagem.setUsuario(usuario);
+        postagem.setIdiomaOrigem(usuario.getIdioma());
 
         if (dto.getImagem() != null && !dto.getImagem().isEmpty()) {
             String nomeArquivo = arquivoService.salvarArquivo(dto.getImagem());
@@ -65,17 +121,23 @@ public class PostagemService {
 
         for (String idiomaAlvo : IDIOMAS_SUPORTADOS) {
             if (!idiomaAlvo.equals(idiomaOrigem)) {
-                String tituloTraduzido = traducaoClient.traduzir(dto.getTitulo(), idiomaOrigem, idiomaAlvo);
-                String conteudoTraduzido = traducaoClient.traduzir(dto.getConteudo(), idiomaOrigem, idiomaAlvo);
-                traducaoService.salvarTraducao(postagem, idiomaAlvo, tituloTraduzido, conteudoTraduzido);
+                traducaoService.salvarTraducaoProvisoria(postagem, idiomaAlvo, dto.getTitulo(), dto.getConteudo());
+                if (modoTraducao == ModoTraducao.ANTECIPADO) {
+                    filaTraducaoService.enfileirar(postagem.getId(), idiomaOrigem, idiomaAlvo);
+                }
             }
         }
 
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagem.getId(), false));
         return postagem;
     }
 
     /**
      * Salva as alterações realizadas em uma postagem.
+     * <p>
+     * As traduções existentes continuam visíveis até que as novas traduções sejam processadas,
+     * pela fila no modo antecipado ou na próxima leitura no modo sob demanda.
+     * </p>
      *
      * @param dto     dados editados da postagem
      * @param usuario usuário solicitante da edição
@@ -102,16 +164,21 @@ public class PostagemService {
             postagem.setImagem(novoNomeArquivo);
         }
 
+        String idiomaOrigem = usuario.getIdioma();
+        postagem.setIdiomaOrigem(idiomaOrigem);
         postagemRepository.save(postagem);
 
-        String idiomaOrigem = usuario.getIdioma();
         traducaoService.salvarTraducao(postagem, idiomaOrigem, dto.getTitulo(), dto.getConteudo());
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagem.getId(), false));
+
+        if (modoTraducao == ModoTraducao.SOB_DEMANDA) {
+            traducaoService.marcarTraducoesComoProvisorias(postagem, idiomaOrigem);
+            return;
+        }
 
         for (String idiomaAlvo : IDIOMAS_SUPORTADOS) {
             if (!idiomaAlvo.equals(idiomaOrigem)) {
-                String tituloTraduzido = traducaoClient.traduzir(dto.getTitulo(), idiomaOrigem, idiomaAlvo);
-                String conteudoTraduzido = traducaoClient.traduzir(dto.getConteudo(), idiomaOrigem, idiomaAlvo);
-                traducaoService.salvarTraducao(postagem, idiomaAlvo, tituloTraduzido, conteudoTraduzido);
+                filaTraducaoService.enfileirar(postagem.getId(), idiomaOrigem, idiomaAlvo);
             }
         }
     }
@@ -137,6 +204,7 @@ public class PostagemService {
         }
 
         postagemRepository.delete(postagem);
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagemId, true));
     }
 
 
@@ -147,105 +215,188 @@ public class PostagemService {
      * @param usuarioId        ID do autor das postagens
      * @param idioma           idioma desejado para tradução
      * @param idUsuarioLogado  ID do usuário autenticado
-     * @return lista de postagens traduzidas com informações de curtida
+     * @return lista de resumos das postagens traduzidas com informações de curtida
+     */
+    public List<PostagemResumoDTO> buscarPostagensDoUsuario(String usuarioId, String idioma, String idUsuarioLogado) {
+        return notificarProvisorias(
+                postagemRepository.buscarResumosPorUsuario(usuarioId, idioma, idUsuarioLogado), idioma);
+    }
+
+    /**
+     * Retorna uma página do feed de postagens traduzidas no idioma atual do sistema.
+     * <p>
+     * A página é buscada a partir do cursor informado (paginação por cursor), de forma que o custo
+     * de cada página não dependa da quantidade total de postagens. As postagens mais recentes são
+     * servidas da memória pelo {@link TimelineFeedService}, sem consultar o banco para leitores anônimos.
+     * </p>
+     *
+     * @param idUsuarioLogado ID do usuário autenticado
+     * @param cursor          cursor da página anterior, ou {@code null} para a primeira página
+     * @return página com as postagens traduzidas e o cursor da próxima página
      */
-    public List<PostagemDTO> buscarPostagensDoUsuario(String usuarioId, String idioma, String idUsuarioLogado) {
-        List<Postagem> postagens = postagemRepository.findByUsuario_IdOrderByDataCriacaoDesc(usuarioId);
-        List<String> idsPostagens = postagens.stream().map(Postagem::getId).toList();
-
-        Map<String, PostagemTraducao> traducoes = traducaoService.buscarPorIdiomaEIdsPostagem(idioma, idsPostagens)
-                .stream().collect(Collectors.toMap(t -> t.getPostagem().getId(), t -> t));
-
-        Map<String, Long> mapaCurtidas = curtidaService.contarCurtidasPorPostagens(idsPostagens);
-        List<String> idsCurtidos = curtidaService.buscarPostagensCurtidasPorUsuario(idUsuarioLogado, idsPostagens);
-
-        return postagens.stream().map(post -> {
-            PostagemTraducao traducao = traducoes.get(post.getId());
-            Usuario usuario = post.getUsuario();
-            return new PostagemDTO(
-                    post.getId(),
-                    traducao != null ? traducao.getTitulo() : null,
-                    traducao != null ? traducao.getConteudo() : null,
-                    post.getImagem(),
-                    post.getDataCriacao(),
-                    mapaCurtidas.getOrDefault(post.getId(), 0L).intValue(),
-                    idsCurtidos.contains(post.getId()),
-                    usuario.getNome(),
-                    usuario.getFoto(),
-                    usuario.getId(),
-                    categoriaService.buscarCategoriaTraduzidaPorId(post.getCategoria().getId()).getNome()
-            );
-        }).toList();
+    public PaginaFeedDTO buscarPostagens(String idUsuarioLogado, String cursor) {
+        return buscarPaginaFeed(null, idUsuarioLogado, cursor);
     }
 
     /**
-     * Retorna todas as postagens traduzidas no idioma atual do sistema.
+     * Percorre uma página do feed, entregando cada postagem ao consumidor à medida que é lida do banco,
+     * sem montar a página inteira em memória. Usado pelo feed em JSON (rolagem infinita).
      *
+     * @param categoriaId     ID da categoria, ou {@code null} para todas as categorias
      * @param idUsuarioLogado ID do usuário autenticado
-     * @return lista de postagens traduzidas
+     * @param cursor          cursor da página anterior, ou {@code null} para a primeira página
+     * @param limite          quantidade de postagens desejada, limitada a {@code feed.api.limite-maximo}
+     * @param consumidor      recebe cada postagem, na ordem do feed
+     * @return cursor da próxima página, ou {@code null} se não houver mais postagens
      */
-    public List<PostagemDTO> buscarPostagens(String idUsuarioLogado) {
+    @Transactional(readOnly = true)
+    public String percorrerFeed(Integer categoriaId, String idUsuarioLogado, String cursor, int limite,
+                                Consumer<PostagemResumoDTO> consumidor) {
         String idioma = IdiomaUtil.getIdiomaAtual();
+        CursorFeed posicao = CursorFeed.decodificar(cursor);
+        int quantidade = Math.max(1, Math.min(limite, limiteMaximoApi));
+
+        try (Stream<PostagemResumoDTO> postagens = postagemRepository.percorrerResumosFeed(
+                idioma,
+                categoriaId,
+                posicao != null ? posicao.dataCriacao() : null,
+                posicao != null ? posicao.id() : null,
+                idUsuarioLogado,
+                PageRequest.of(0, quantidade + 1))) {
+
+            Iterator<PostagemResumoDTO> iterador = postagens.iterator();
+            PostagemResumoDTO ultima = null;
+            int entregues = 0;
+
+            while (entregues < quantidade && iterador.hasNext()) {
+                ultima = iterador.next();
+                if (Boolean.TRUE.equals(ultima.getProvisoria())) {
+                    traducaoService.notificarTraducaoProvisoria(ultima.getId(), idioma);
+                }
+                consumidor.accept(ultima);
+                entregues++;
+            }
 
-        List<PostagemTraducao> traducoes = traducaoService.buscarPostagensTraduzidasPorIdiomaOrdenadas(idioma);
-        List<String> idsPostagens = traducoes.stream().map(t -> t.getPostagem().getId()).toList();
-
-        Map<String, Long> mapaCurtidas = curtidaService.contarCurtidasPorPostagens(idsPostagens);
-        List<String> idsCurtidos = curtidaService.buscarPostagensCurtidasPorUsuario(idUsuarioLogado, idsPostagens);
-
-        return traducoes.stream().map(t -> {
-            Postagem p = t.getPostagem();
-            Usuario usuario = p.getUsuario();
-            return new PostagemDTO(
-                    p.getId(),
-                    t.getTitulo(),
-                    t.getConteudo(),
-                    p.getImagem(),
-                    p.getDataCriacao(),
-                    mapaCurtidas.getOrDefault(p.getId(), 0L).intValue(),
-                    idsCurtidos.contains(p.getId()),
-                    usuario != null ? usuario.getNome() : null,
-                    usuario != null ? usuario.getFoto() : null,
-                    usuario != null ? usuario.getId() : null,
-                    categoriaService.buscarCategoriaTraduzidaPorId(p.getCategoria().getId()).getNome()
-            );
-        }).toList();
+            // A postagem excedente apenas indica que existe uma próxima página
+            return iterador.hasNext() ? new CursorFeed(ultima.getDataCriacao(), ultima.getId()).codificar() : null;
+        }
     }
 
     /**
-     * Busca postagens associadas a uma determinada categoria.
+     * Busca uma página de postagens associadas a uma determinada categoria.
      *
      * @param categoriaId      ID da categoria
      * @param idUsuarioLogado  ID do usuário autenticado
-     * @return lista de postagens filtradas pela categoria
+     * @param cursor           cursor da página anterior, ou {@code null} para a primeira página
+     * @return página com as postagens da categoria e o cursor da próxima página
      */
-    public List<PostagemDTO> buscarPostagensPorCategoria(Integer categoriaId, String idUsuarioLogado) {
-        String idiomaAtual = LocaleContextHolder.getLocale().toLanguageTag();
+    public PaginaFeedDTO buscarPostagensPorCategoria(Integer categoriaId, String idUsuarioLogado, String cursor) {
+        return buscarPaginaFeed(categoriaId, idUsuarioLogado, cursor);
+    }
+
+    /**
+     * Retorna as postagens em alta no idioma atual do sistema, opcionalmente filtradas por categoria.
+     * <p>
+     * A ordem vem do ranking em memória do {@link TendenciasService}; apenas os resumos das postagens
+     * da página são lidos do banco. As tendências têm uma única página.
+     * </p>
+     *
+     * @param categoriaId     ID da categoria, ou {@code null} para todas as categorias
+     * @param idUsuarioLogado ID do usuário autenticado
+     * @return página com as postagens em alta, da maior para a menor pontuação, sem próxima página
+     */
+    public PaginaFeedDTO buscarTendencias(Integer categoriaId, String idUsuarioLogado) {
+        String idioma = IdiomaUtil.getIdiomaAtual();
+        List<String> ids = tendenciasService.buscarTopo(categoriaId, tamanhoPagina);
+        if (ids.isEmpty()) {
+            return new PaginaFeedDTO(List.of(), null);
+        }
+
+        Map<String, PostagemResumoDTO> resumos = new HashMap<>();
+        postagemRepository.buscarResumosPorIds(ids, idioma, idUsuarioLogado)
+                .forEach(p -> resumos.put(p.getId(), p));
 
-        List<Postagem> postagens = postagemRepository.findByCategoriaId(categoriaId);
-        List<String> idsPostagens = postagens.stream().map(Postagem::getId).toList();
-
-        Map<String, PostagemTraducao> traducoes = traducaoService.buscarPorIdiomaEPostagemIds(idiomaAtual, idsPostagens);
-        Map<String, Long> mapaCurtidas = curtidaService.contarCurtidasPorPostagens(idsPostagens);
-        List<String> idsCurtidos = curtidaService.buscarPostagensCurtidasPorUsuario(idUsuarioLogado, idsPostagens);
-
-        return postagens.stream().map(post -> {
-            PostagemTraducao traducao = traducoes.get(post.getId());
-            Usuario usuario = post.getUsuario();
-            return new PostagemDTO(
-                    post.getId(),
-                    traducao != null ? traducao.getTitulo() : null,
-                    traducao != null ? traducao.getConteudo() : null,
-                    post.getImagem(),
-                    post.getDataCriacao(),
-                    mapaCurtidas.getOrDefault(post.getId(), 0L).intValue(),
-                    idsCurtidos.contains(post.getId()),
-                    usuario != null ? usuario.getNome() : null,
-                    usuario != null ? usuario.getFoto() : null,
-                    usuario != null ? usuario.getId() : null,
-                    categoriaService.buscarCategoriaTraduzidaPorId(post.getCategoria().getId()).getNome()
-            );
-        }).toList();
+        List<PostagemResumoDTO> postagens = ids.stream()
+                .map(resumos::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PaginaFeedDTO(notificarProvisorias(postagens, idioma), null);
+    }
+
+    /**
+     * Retorna as postagens recomendadas para o usuário no idioma atual do sistema.
+     * <p>
+     * As candidatas são as postagens mais recentes mantidas em memória pelo {@link TimelineFeedService}.
+     * Cada uma recebe a pontuação {@code recencia * (1 + pesoAfinidade * afinidade)}, em que a recência
+     * cai pela metade a cada {@code feed.para-voce.meia-vida-horas} e a afinidade é a fração das curtidas
+     * do usuário feitas na categoria da postagem ({@link AfinidadeCategoriasService}). Sem curtidas,
+     * a ordem é a cronológica. O feed "para você" tem uma única página.
+     * </p>
+     *
+     * @param idUsuarioLogado ID do usuário autenticado
+     * @return página com as postagens recomendadas, sem próxima página
+     */
+    public PaginaFeedDTO buscarParaVoce(String idUsuarioLogado) {
+        String idioma = IdiomaUtil.getIdiomaAtual();
+        List<PostagemResumoDTO> candidatas = timelineFeedService.buscarRecentes(idioma);
+        Map<Integer, Double> afinidades = afinidadeCategoriasService.buscarAfinidades(idUsuarioLogado);
+
+        LocalDateTime agora = LocalDateTime.now();
+        Map<String, Double> pontuacoes = new HashMap<>(candidatas.size() * 2);
+        for (PostagemResumoDTO candidata : candidatas) {
+            double idadeHoras = Math.max(0, Duration.between(candidata.getDataCriacao(), agora).toMillis() / 3_600_000.0);
+            double recencia = Math.pow(2, -idadeHoras / meiaVidaParaVoceHoras);
+            double afinidade = afinidades.getOrDefault(candidata.getCategoriaId(), 0.0);
+            pontuacoes.put(candidata.getId(), recencia * (1 + pesoAfinidade * afinidade));
+        }
+
+        List<PostagemResumoDTO> postagens = candidatas.stream()
+                .sorted(Comparator.comparing((PostagemResumoDTO p) -> pontuacoes.get(p.getId())).reversed())
+                .limit(tamanhoPagina)
+                .toList();
+
+        marcarCurtidas(postagens, idUsuarioLogado);
+        return new PaginaFeedDTO(notificarProvisorias(postagens, idioma), null);
+    }
+
+    /**
+     * Retorna as postagens relacionadas a uma postagem, no idioma atual do sistema.
+     * <p>
+     * São usadas primeiro as postagens curtidas pelos mesmos usuários ({@link RelacionadasService}) e,
+     * se não houver o suficiente, as postagens mais recentes da mesma categoria mantidas em memória.
+     * Apenas o título e a imagem das postagens escolhidas são lidos do banco.
+     * </p>
+     *
+     * @param postagem postagem exibida
+     * @return postagens relacionadas, da mais para a menos relacionada
+     */
+    public List<PostagemRelacionadaDTO> buscarRelacionadas(Postagem postagem) {
+        String idioma = IdiomaUtil.getIdiomaAtual();
+        Set<String> ids = new LinkedHashSet<>(relacionadasService.buscarVizinhos(postagem.getId()));
+
+        if (ids.size() < quantidadeRelacionadas) {
+            Integer categoriaId = postagem.getCategoria().getId();
+            for (PostagemResumoDTO recente : timelineFeedService.buscarRecentes(idioma)) {
+                if (ids.size() >= quantidadeRelacionadas) {
+                    break;
+                }
+                if (categoriaId.equals(recente.getCategoriaId()) && !recente.getId().equals(postagem.getId())) {
+                    ids.add(recente.getId());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, PostagemRelacionadaDTO> relacionadas = new HashMap<>();
+        postagemRepository.buscarRelacionadasPorIds(ids, idioma).forEach(r -> relacionadas.put(r.getId(), r));
+
+        return ids.stream()
+                .map(relacionadas::get)
+                .filter(Objects::nonNull)
+                .limit(quantidadeRelacionadas)
+                .toList();
     }
 
     /**
@@ -310,5 +461,55 @@ public class PostagemService {
                 })
                 .toList();
     }
-}
 
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private PaginaFeedDTO buscarPaginaFeed(Integer categoriaId, String idUsuarioLogado, String cursor) {
+        String idioma = IdiomaUtil.getIdiomaAtual();
+        CursorFeed posicao = CursorFeed.decodificar(cursor);
+
+        List<PostagemResumoDTO> postagens = categoriaId == null
+                ? timelineFeedService.buscarPagina(idioma, posicao, tamanhoPagina + 1)
+                : null;
+
+        if (postagens != null) {
+            marcarCurtidas(postagens, idUsuarioLogado);
+        } else {
+            postagens = postagemRepository.buscarResumosFeed(
+                    idioma,
+                    categoriaId,
+                    posicao != null ? posicao.dataCriacao() : null,
+                    posicao != null ? posicao.id() : null,
+                    idUsuarioLogado,
+                    PageRequest.of(0, tamanhoPagina + 1));
+        }
+
+        boolean temProxima = postagens.size() > tamanhoPagina;
+        if (temProxima) {
+            postagens = postagens.subList(0, tamanhoPagina);
+        }
+
+        return new PaginaFeedDTO(notificarProvisorias(postagens, idioma), temProxima ? proximoCursor(postagens) : null);
+    }
+
+    private void marcarCurtidas(List<PostagemResumoDTO> postagens, String idUsuarioLogado) {
+        if (idUsuarioLogado == null || postagens.isEmpty()) {
+            return;
+        }
+        Set<String> curtidas = new HashSet<>(curtidaService.buscarPostagensCurtidasPorUsuario(
+                idUsuarioLogado, postagens.stream().map(PostagemResumoDTO::getId).toList()));
+        postagens.forEach(p -> p.setCurtidoPeloUsuario(curtidas.contains(p.getId())));
+    }
+
+    private List<PostagemResumoDTO> notificarProvisorias(List<PostagemResumoDTO> postagens, String idioma) {
+        postagens.stream()
+                .filter(p -> Boolean.TRUE.equals(p.getProvisoria()))
+                .forEach(p -> traducaoService.notificarTraducaoProvisoria(p.getId(), idioma));
+        return postagens;
+    }
+
+    private static String proximoCursor(List<PostagemResumoDTO> postagens) {
+        PostagemResumoDTO ultima = postagens.get(postagens.size() - 1);
+        return new CursorFeed(ultima.getDataCriacao(), ultima.getId()).codificar();
+    }
+}
@@ -0,0 +1,278 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.event.CurtidaAlteradaEvent;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.CurtidaRepository;
+import com.manoela.blog.repository.PostagemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que mantém, para cada postagem, as postagens mais parecidas segundo as curtidas.
+ * <p>
+ * Duas postagens são parecidas quando os mesmos usuários curtiram ambas; a similaridade é
+ * {@code emComum / sqrt(curtidasA * curtidasB)} (cosseno). Cada postagem guarda apenas as
+ * {@code feed.relacionadas.vizinhos} mais parecidas, de forma que a leitura seja uma consulta a um mapa
+ * em memória, sem acessar a tabela de curtidas.
+ * </p>
+ * <p>
+ * O índice é montado em segundo plano, na primeira execução da tarefa agendada, a partir de uma leitura
+ * de todas as curtidas. Depois disso, cada execução recalcula apenas as postagens que receberam ou perderam
+ * curtidas e atualiza a posição delas nas listas das postagens em comum.
+ * </p>
+ */
+@Service
+public class RelacionadasService {
+
+    private static final Comparator<Vizinho> MAIS_PARECIDAS = Comparator.comparingDouble(Vizinho::similaridade)
+            .reversed()
+            .thenComparing(Vizinho::postagemId);
+
+    private final CurtidaRepository curtidaRepository;
+    private final PostagemRepository postagemRepository;
+    private final VersaoConteudoService versaoConteudoService;
+    private final TransactionTemplate transacaoLeitura;
+    private final Timer duracaoAtualizacao;
+    private final int quantidadeVizinhos;
+
+    private final Map<String, List<Vizinho>> vizinhos = new ConcurrentHashMap<>();
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+    private volatile boolean montado;
+
+    public RelacionadasService(CurtidaRepository curtidaRepository,
+                               PostagemRepository postagemRepository,
+                               VersaoConteudoService versaoConteudoService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${feed.relacionadas.vizinhos:10}") int quantidadeVizinhos) {
+        this.curtidaRepository = curtidaRepository;
+        this.postagemRepository = postagemRepository;
+        this.versaoConteudoService = versaoConteudoService;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.quantidadeVizinhos = quantidadeVizinhos;
+
+        this.duracaoAtualizacao = Timer.builder("feed.relacionadas.atualizacao")
+                .description("Tempo para montar ou atualizar o índice de postagens relacionadas")
+                .register(meterRegistry);
+        meterRegistry.gauge("feed.relacionadas.postagens", vizinhos, Map::size);
+    }
+
+    /**
+     * Postagem parecida com outra.
+     *
+     * @param postagemId   ID da postagem parecida.
+     * @param similaridade similaridade entre 0 e 1.
+     */
+    private record Vizinho(String postagemId, double similaridade) {}
+
+    /**
+     * Retorna as postagens mais parecidas com a informada, da mais para a menos parecida.
+     *
+     * @param postagemId ID da postagem.
+     * @return IDs das postagens parecidas; vazio se a postagem não tiver curtidas em comum com outras.
+     */
+    public List<String> buscarVizinhos(String postagemId) {
+        List<Vizinho> lista = vizinhos.get(postagemId);
+        return lista == null ? List.of() : lista.stream().map(Vizinho::postagemId).toList();
+    }
+
+    /**
+     * Marca a postagem curtida ou descurtida para ser recalculada na próxima execução da tarefa.
+     *
+     * @param evento curtida alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCurtida(CurtidaAlteradaEvent evento) {
+        pendentes.add(evento.postagemId());
+    }
+
+    /**
+     * Remove a postagem excluída do índice e das listas em que aparecia.
+     *
+     * @param evento postagem alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        if (!evento.excluida()) {
+            return;
+        }
+        pendentes.remove(evento.postagemId());
+        List<Vizinho> anteriores = vizinhos.remove(evento.postagemId());
+        if (anteriores != null) {
+            anteriores.forEach(v -> atualizarVizinho(v.postagemId(), evento.postagemId(), 0));
+        }
+    }
+
+    /**
+     * Monta o índice, na primeira execução, ou recalcula as postagens com curtidas alteradas.
+     */
+    @Scheduled(fixedDelayString = "${feed.relacionadas.intervalo-ms:30000}")
+    public void atualizar() {
+        if (!montado) {
+            duracaoAtualizacao.record(this::montar);
+            montado = true;
+            return;
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        List<String> lote = new ArrayList<>(pendentes);
+        pendentes.removeAll(lote);
+        duracaoAtualizacao.record(() -> lote.forEach(this::recalcular));
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    /**
+     * Monta o índice completo a partir de uma leitura de todas as curtidas.
+     */
+    private void montar() {
+        Map<String, List<String>> usuariosPorPostagem = new HashMap<>();
+        Map<String, List<String>> postagensPorUsuario = new HashMap<>();
+
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<Object[]> curtidas = curtidaRepository.percorrerCurtidasPorUsuario()) {
+                curtidas.forEach(c -> {
+                    String usuarioId = (String) c[0];
+                    String postagemId = (String) c[1];
+                    usuariosPorPostagem.computeIfAbsent(postagemId, id -> new ArrayList<>()).add(usuarioId);
+                    postagensPorUsuario.computeIfAbsent(usuarioId, id -> new ArrayList<>()).add(postagemId);
+                });
+            }
+        });
+
+        Map<String, List<Vizinho>> novos = new HashMap<>();
+        usuariosPorPostagem.forEach((postagemId, usuarios) -> {
+            Map<String, Long> emComum = new HashMap<>();
+            for (String usuarioId : usuarios) {
+                for (String outra : postagensPorUsuario.get(usuarioId)) {
+                    if (!outra.equals(postagemId)) {
+                        emComum.merge(outra, 1L, Long::sum);
+                    }
+                }
+            }
+            List<Vizinho> lista = melhores(similaridades(emComum, usuarios.size(),
+                    outra -> usuariosPorPostagem.get(outra).size()));
+            if (!lista.isEmpty()) {
+                novos.put(postagemId, lista);
+            }
+        });
+
+        Set<String> alteradas = new HashSet<>(vizinhos.keySet());
+        alteradas.addAll(novos.keySet());
+        vizinhos.keySet().retainAll(novos.keySet());
+        alteradas.forEach(postagemId -> {
+            List<Vizinho> lista = novos.get(postagemId);
+            registrarSeAlterada(postagemId, lista != null ? vizinhos.put(postagemId, lista) : null, lista);
+        });
+    }
+
+    /**
+     * Recalcula as postagens mais parecidas com uma postagem e atualiza a similaridade dela nas listas
+     * das postagens com curtidas em comum, que mudou junto com o total de curtidas da postagem.
+     */
+    private void recalcular(String postagemId) {
+        Map<String, Long> emComum = new HashMap<>();
+        curtidaRepository.contarCurtidasEmComum(postagemId)
+                .forEach(linha -> emComum.put((String) linha[0], (Long) linha[1]));
+        List<String> ids = new ArrayList<>(emComum.keySet());
+        ids.add(postagemId);
+
+        Map<String, Long> totais = new HashMap<>();
+        postagemRepository.buscarTotaisCurtidas(ids)
+                .forEach(linha -> totais.put((String) linha[0], (Long) linha[1]));
+        long total = totais.getOrDefault(postagemId, 0L);
+
+        Map<String, Double> similaridades = similaridades(emComum, total, outra -> totais.getOrDefault(outra, 0L));
+        List<Vizinho> lista = melhores(similaridades);
+        List<Vizinho> anteriores = lista.isEmpty() ? vizinhos.remove(postagemId) : vizinhos.put(postagemId, lista);
+        registrarSeAlterada(postagemId, anteriores, lista);
+
+        Set<String> afetadas = new HashSet<>(similaridades.keySet());
+        if (anteriores != null) {
+            anteriores.forEach(v -> afetadas.add(v.postagemId()));
+        }
+        afetadas.forEach(outra -> atualizarVizinho(outra, postagemId, similaridades.getOrDefault(outra, 0.0)));
+    }
+
+    /**
+     * Atualiza a similaridade de uma postagem na lista de outra. Se a postagem perdeu similaridade,
+     * outra postagem fora da lista pode merecer a posição, então a lista é marcada para ser recalculada.
+     */
+    private void atualizarVizinho(String postagemId, String vizinhoId, double similaridade) {
+        List<List<Vizinho>> anterior = new ArrayList<>(1);
+        List<Vizinho> atualizada = vizinhos.compute(postagemId, (id, atual) -> {
+            anterior.add(atual);
+            List<Vizinho> lista = atual != null ? new ArrayList<>(atual) : new ArrayList<>();
+            Vizinho anterior = lista.stream().filter(v -> v.postagemId().equals(vizinhoId)).findFirst().orElse(null);
+
+            if (anterior != null) {
+                lista.remove(anterior);
+                if (similaridade < anterior.similaridade()) {
+                    pendentes.add(postagemId);
+                }
+            }
+            if (similaridade > 0) {
+                lista.add(new Vizinho(vizinhoId, similaridade));
+                lista.sort(MAIS_PARECIDAS);
+                if (lista.size() > quantidadeVizinhos) {
+                    lista.remove(lista.size() - 1);
+                }
+            }
+            return lista.isEmpty() ? null : List.copyOf(lista);
+        });
+        registrarSeAlterada(postagemId, anterior.get(0), atualizada);
+    }
+
+    /**
+     * Invalida a página da postagem se a ordem das suas postagens relacionadas mudou.
+     */
+    private void registrarSeAlterada(String postagemId, List<Vizinho> anteriores, List<Vizinho> atuais) {
+        if (!ids(anteriores).equals(ids(atuais))) {
+            versaoConteudoService.registrarAlteracaoRelacionadas(postagemId);
+        }
+    }
+
+    private static List<String> ids(List<Vizinho> lista) {
+        return lista == null ? List.of() : lista.stream().map(Vizinho::postagemId).toList();
+    }
+
+    private static Map<String, Double> similaridades(Map<String, Long> emComum, long total,
+                                                     ToLongFunction<String> totalDe) {
+        Map<String, Double> similaridades = new HashMap<>(emComum.size() * 2);
+        emComum.forEach((outra, quantidade) -> {
+            long totalOutra = totalDe.applyAsLong(outra);
+            if (total > 0 && totalOutra > 0) {
+                similaridades.put(outra, quantidade / Math.sqrt((double) total * totalOutra));
+            }
+        });
+        return similaridades;
+    }
+
+    private List<Vizinho> melhores(Map<String, Double> similaridades) {
+        return similaridades.entrySet().stream()
+                .map(e -> new Vizinho(e.getKey(), e.getValue()))
+                .sorted(MAIS_PARECIDAS)
+                .limit(quantidadeVizinhos)
+                .toList();
+    }
+}
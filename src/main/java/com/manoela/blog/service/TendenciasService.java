@@ -0,0 +1,288 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.event.CurtidaAlteradaEvent;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.CurtidaRepository;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.util.RankingTendencias;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que mantém o ranking das postagens em alta, usado pelo feed ordenado por tendências.
+ * <p>
+ * A pontuação de cada postagem é a soma das suas curtidas, cada uma com valor que cai pela metade a cada
+ * {@code feed.tendencias.meia-vida-horas}. O ranking fica em memória ({@link RankingTendencias}) e é
+ * atualizado a cada curtida, de forma que a leitura das tendências não consulte a tabela de curtidas.
+ * O ranking é gravado em disco periodicamente e ao encerrar a aplicação. Na inicialização o ranking gravado
+ * é exibido enquanto um novo é montado a partir das curtidas existentes no banco, de forma que curtidas
+ * removidas depois da gravação não continuem somadas.
+ * </p>
+ */
+@Service
+public class TendenciasService {
+
+    /**
+     * Quantidade de meias-vidas consideradas ao montar o ranking; curtidas mais antigas valem menos de 1%
+     * de uma curtida nova.
+     */
+    private static final int MEIAS_VIDAS_CONSIDERADAS = 7;
+
+    private final CurtidaRepository curtidaRepository;
+    private final PostagemRepository postagemRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final Duration meiaVida;
+    private final int capacidade;
+    private final String arquivo;
+
+    private volatile RankingTendencias ranking;
+    private final AtomicBoolean alterado = new AtomicBoolean();
+
+    /**
+     * Postagens alteradas enquanto o ranking é montado, remontadas a partir do banco ao fim da montagem;
+     * {@code null} depois dela.
+     */
+    private Set<String> pendentes = new HashSet<>();
+    private final Object travaPendentes = new Object();
+
+    public TendenciasService(CurtidaRepository curtidaRepository,
+                             PostagemRepository postagemRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${feed.tendencias.meia-vida-horas:24}") long meiaVidaHoras,
+                             @Value("${feed.tendencias.capacidade:100}") int capacidade,
+                             @Value("${feed.tendencias.arquivo:dados/tendencias.bin}") String arquivo) {
+        this.curtidaRepository = curtidaRepository;
+        this.postagemRepository = postagemRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.meiaVida = Duration.ofHours(meiaVidaHoras);
+        this.capacidade = capacidade;
+        this.arquivo = arquivo;
+        this.ranking = new RankingTendencias(meiaVida.toMillis(), capacidade, System.currentTimeMillis());
+
+        meterRegistry.gauge("feed.tendencias.postagens", this, s -> s.ranking.tamanho());
+    }
+
+    /**
+     * Retorna as postagens em alta, da maior para a menor pontuação.
+     *
+     * @param categoriaId categoria, ou {@code null} para todas as categorias.
+     * @param limite      quantidade máxima de postagens.
+     * @return IDs das postagens.
+     */
+    public List<String> buscarTopo(Integer categoriaId, int limite) {
+        return ranking.topo(categoriaId, limite);
+    }
+
+    /**
+     * Exibe o ranking gravado em disco e o substitui por um novo, montado a partir das curtidas recentes.
+     * As postagens curtidas, descurtidas ou alteradas durante a montagem são remontadas ao final dela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            lerArquivo();
+
+            long agora = System.currentTimeMillis();
+            RankingTendencias novo = new RankingTendencias(meiaVida.toMillis(), capacidade, agora);
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<Object[]> curtidas = curtidaRepository.percorrerCurtidasDesde(inicioJanela(agora))) {
+                    curtidas.forEach(c -> novo.registrar((String) c[0], (Integer) c[1], instante((LocalDateTime) c[2]), true));
+                }
+            });
+            novo.compactar(agora);
+            ranking = novo;
+            alterado.set(true);
+        } finally {
+            aplicarPendentes();
+        }
+    }
+
+    /**
+     * Atualiza a pontuação da postagem curtida ou descurtida, após o commit da curtida.
+     *
+     * @param evento curtida alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCurtida(CurtidaAlteradaEvent evento) {
+        if (adiar(evento.postagemId())) {
+            return;
+        }
+        Integer categoriaId = ranking.categoria(evento.postagemId());
+        if (categoriaId == null) {
+            if (!evento.curtida()) {
+                return;
+            }
+            categoriaId = postagemRepository.buscarCategoriaId(evento.postagemId());
+        }
+        ranking.registrar(evento.postagemId(), categoriaId, instante(evento.dataCurtida()), evento.curtida());
+        alterado.set(true);
+    }
+
+    /**
+     * Remove a postagem excluída do ranking, ou a move de lista se a categoria foi alterada.
+     *
+     * @param evento postagem alterada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        if (adiar(evento.postagemId())) {
+            return;
+        }
+        Integer categoriaAtual = ranking.categoria(evento.postagemId());
+        if (categoriaAtual == null) {
+            return;
+        }
+        if (evento.excluida()) {
+            ranking.remover(evento.postagemId());
+        } else {
+            Integer categoriaId = postagemRepository.buscarCategoriaId(evento.postagemId());
+            if (Objects.equals(categoriaAtual, categoriaId)) {
+                return;
+            }
+            ranking.alterarCategoria(evento.postagemId(), categoriaId);
+        }
+        alterado.set(true);
+    }
+
+    /**
+     * Compacta o ranking e o grava em disco, se houve alterações desde a última gravação.
+     */
+    @Scheduled(fixedDelayString = "${feed.tendencias.intervalo-gravacao-ms:60000}")
+    public void compactarEGravar() {
+        ranking.compactar(System.currentTimeMillis());
+        if (alterado.getAndSet(false)) {
+            gravarArquivo();
+        }
+    }
+
+    /**
+     * Grava o ranking ao encerrar a aplicação, para que a próxima inicialização o exiba enquanto monta o novo.
+     */
+    @PreDestroy
+    public void encerrar() {
+        if (alterado.getAndSet(false)) {
+            gravarArquivo();
+        }
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private static long instante(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime inicioJanela(long agora) {
+        return LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(agora).minus(meiaVida.multipliedBy(MEIAS_VIDAS_CONSIDERADAS)), ZoneId.systemDefault());
+    }
+
+    /**
+     * Registra a postagem para ser remontada ao fim da montagem do ranking, se ela estiver em andamento.
+     *
+     * @return {@code true} se a alteração foi adiada.
+     */
+    private boolean adiar(String postagemId) {
+        synchronized (travaPendentes) {
+            if (pendentes == null) {
+                return false;
+            }
+            pendentes.add(postagemId);
+            return true;
+        }
+    }
+
+    /**
+     * Remonta as postagens alteradas durante a montagem, até não restar nenhuma, e passa a aplicar as
+     * alterações ao recebê-las. Como a pontuação é lida do banco depois do commit, uma curtida já lida
+     * na montagem não é somada de novo.
+     */
+    private void aplicarPendentes() {
+        while (true) {
+            Set<String> lote;
+            synchronized (travaPendentes) {
+                if (pendentes.isEmpty()) {
+                    pendentes = null;
+                    return;
+                }
+                lote = pendentes;
+                pendentes = new HashSet<>();
+            }
+            LocalDateTime desde = inicioJanela(System.currentTimeMillis());
+            lote.forEach(postagemId -> remontar(postagemId, desde));
+            alterado.set(true);
+        }
+    }
+
+    private void remontar(String postagemId, LocalDateTime desde) {
+        RankingTendencias atual = ranking;
+        atual.remover(postagemId);
+        curtidaRepository.buscarCurtidasDaPostagemDesde(postagemId, desde)
+                .forEach(c -> atual.registrar(postagemId, (Integer) c[0], instante((LocalDateTime) c[1]), true));
+    }
+
+    /**
+     * Lê o ranking gravado em disco, exibido até que o novo ranking seja montado.
+     */
+    private void lerArquivo() {
+        Path caminho = Paths.get(arquivo);
+        if (!Files.exists(caminho)) {
+            return;
+        }
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(caminho)))) {
+            entrada.readLong(); // instante da gravação
+            ranking = RankingTendencias.ler(entrada, meiaVida.toMillis(), capacidade);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ranking de tendências inválido em " + caminho + ", ignorando: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o ranking em um arquivo temporário e o move sobre o anterior, para que uma falha
+     * durante a gravação não corrompa o último ranking válido.
+     */
+    private synchronized void gravarArquivo() {
+        Path caminho = Paths.get(arquivo).toAbsolutePath();
+        Path temporario = caminho.resolveSibling(caminho.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(Objects.requireNonNull(caminho.getParent()));
+            try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+                saida.writeLong(System.currentTimeMillis());
+                ranking.gravar(saida);
+            }
+            Files.move(temporario, caminho, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            alterado.set(true);
+            System.err.println("Erro ao gravar o ranking de tendências em " + caminho + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.usuario.Usuario;
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.event.UsuarioAlteradoEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.repository.UsuarioRepository;
+import com.manoela.blog.util.CursorFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço que mantém em memória, para cada idioma, as postagens mais recentes do feed já prontas para exibição.
+ * <p>
+ * Cada idioma guarda até {@code feed.timeline.capacidade} resumos, ordenados pela data de criação e pelo ID,
+ * carregados do banco na primeira leitura. Criações, edições, traduções e exclusões atualizam apenas a
+ * postagem alterada, após o commit, e alterações de perfil atualizam o nome e a foto do autor. Os resumos
+ * não dependem do leitor: o total de curtidas é sobreposto no momento da leitura a partir dos contadores em
+ * memória do {@link ContadorCurtidasService}, sem consultar o banco, e a curtida do usuário logado fica a
+ * cargo de quem chama. Páginas que ultrapassam as postagens mantidas em memória são buscadas no banco.
+ * </p>
+ */
+@Service
+public class TimelineFeedService {
+
+    private static final Comparator<PostagemResumoDTO> ORDEM_FEED = Comparator
+            .comparing(PostagemResumoDTO::getDataCriacao)
+            .thenComparing(PostagemResumoDTO::getId)
+            .reversed();
+
+    private final PostagemRepository postagemRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ContadorCurtidasService contadorCurtidas;
+
+    /**
+     * Postagens mais recentes de cada idioma.
+     */
+    private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Incrementada a cada alteração de postagem, para descartar cargas concorrentes com alterações.
+     */
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Travas por faixa de postagens, para aplicar em ordem as alterações de uma mesma postagem.
+     */
+    private final Object[] travas = new Object[64];
+
+    @Value("${feed.timeline.capacidade:200}")
+    private int capacidade;
+
+    public TimelineFeedService(PostagemRepository postagemRepository,
+                               UsuarioRepository usuarioRepository,
+                               ContadorCurtidasService contadorCurtidas) {
+        this.postagemRepository = postagemRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.contadorCurtidas = contadorCurtidas;
+        Arrays.setAll(travas, i -> new Object());
+    }
+
+    /**
+     * Busca em memória as postagens do feed de um idioma posteriores ao cursor informado.
+     * <p>
+     * Os resumos retornados são cópias, com o total de curtidas atualizado e sem a curtida do usuário logado.
+     * </p>
+     *
+     * @param idioma idioma do feed.
+     * @param cursor posição da última postagem exibida, ou {@code null} para a primeira página.
+     * @param limite quantidade máxima de postagens.
+     * @return resumos das postagens, ou {@code null} se a página não estiver inteiramente em memória.
+     */
+    public List<PostagemResumoDTO> buscarPagina(String idioma, CursorFeed cursor, int limite) {
+        Timeline timeline = timelines.get(idioma);
+        if (timeline == null) {
+            timeline = carregar(idioma);
+        }
+
+        List<PostagemResumoDTO> itens = timeline.itens();
+        int inicio = cursor == null ? 0 : primeiraPosicaoApos(itens, cursor);
+        int fim = Math.min(itens.size(), inicio + limite);
+        if (fim - inicio < limite && !timeline.completa()) {
+            return null;
+        }
+
+        return copiar(itens.subList(inicio, fim));
+    }
+
+    /**
+     * Retorna todas as postagens do feed de um idioma mantidas em memória, das mais recentes para as mais antigas.
+     * Usado como conjunto de candidatas pelas ordenações alternativas do feed.
+     *
+     * @param idioma idioma do feed.
+     * @return cópias dos resumos, com o total de curtidas atualizado e sem a curtida do usuário logado.
+     */
+    public List<PostagemResumoDTO> buscarRecentes(String idioma) {
+        Timeline timeline = timelines.get(idioma);
+        if (timeline == null) {
+            timeline = carregar(idioma);
+        }
+
+        return copiar(timeline.itens());
+    }
+
+    /**
+     * Atualiza a postagem alterada nos feeds em memória, após o commit da alteração.
+     *
+     * @param evento postagem criada, editada, traduzida ou excluída.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        versao.incrementAndGet();
+        String postagemId = evento.postagemId();
+
+        // A leitura e a aplicação de alterações da mesma postagem são feitas em sequência, para que um
+        // resumo lido antes de uma edição não substitua o resumo lido depois dela
+        synchronized (trava(postagemId)) {
+            for (String idioma : timelines.keySet()) {
+                PostagemResumoDTO resumo = evento.excluida() ? null
+                        : postagemRepository.buscarResumoDaPostagem(postagemId, idioma, null).stream()
+                                .findFirst().orElse(null);
+                timelines.computeIfPresent(idioma, (chave, atual) ->
+                        resumo != null ? atual.comPostagem(resumo, capacidade) : atual.semPostagem(postagemId));
+            }
+        }
+    }
+
+    /**
+     * Atualiza o nome e a foto do autor nas postagens em memória, após o commit da alteração do perfil.
+     *
+     * @param evento usuário alterado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlteradoEvent evento) {
+        versao.incrementAndGet();
+        Usuario usuario = usuarioRepository.findById(evento.usuarioId()).orElse(null);
+        if (usuario == null) {
+            return;
+        }
+
+        for (String idioma : timelines.keySet()) {
+            timelines.computeIfPresent(idioma, (chave, atual) ->
+                    atual.comAutor(usuario.getId(), usuario.getNome(), usuario.getFoto()));
+        }
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private Timeline carregar(String idioma) {
+        long versaoInicial = versao.get();
+        List<PostagemResumoDTO> itens = postagemRepository.buscarResumosFeed(
+                idioma, null, null, null, null, PageRequest.of(0, capacidade));
+
+        Timeline timeline = new Timeline(List.copyOf(itens), itens.size() < capacidade);
+
+        // Uma alteração durante a carga pode não estar refletida nos itens lidos
+        if (versao.get() == versaoInicial) {
+            timelines.putIfAbsent(idioma, timeline);
+        }
+        return timeline;
+    }
+
+    private Object trava(String postagemId) {
+        return travas[Math.floorMod(postagemId.hashCode(), travas.length)];
+    }
+
+    private static int primeiraPosicaoApos(List<PostagemResumoDTO> itens, CursorFeed cursor) {
+        PostagemResumoDTO referencia = new PostagemResumoDTO();
+        referencia.setDataCriacao(cursor.dataCriacao());
+        referencia.setId(cursor.id());
+
+        int posicao = Collections.binarySearch(itens, referencia, ORDEM_FEED);
+        return posicao >= 0 ? posicao + 1 : -posicao - 1;
+    }
+
+    /**
+     * Copia os resumos com o total de curtidas atual; apenas as postagens cujo total ainda não está em memória
+     * são lidas do banco, em uma única consulta.
+     */
+    private List<PostagemResumoDTO> copiar(List<PostagemResumoDTO> itens) {
+        Map<String, Long> totais = contadorCurtidas.totais(itens.stream().map(PostagemResumoDTO::getId).toList());
+        List<PostagemResumoDTO> copias = new ArrayList<>(itens.size());
+        for (PostagemResumoDTO item : itens) {
+            copias.add(copiar(item, totais.getOrDefault(item.getId(), 0L)));
+        }
+        return copias;
+    }
+
+    private PostagemResumoDTO copiar(PostagemResumoDTO item, long totalCurtidas) {
+        return new PostagemResumoDTO(
+                item.getId(), item.getTitulo(), item.getResumo(), item.getImagem(), item.getDataCriacao(),
+                totalCurtidas,
+                false,
+                item.getUsername(), item.getFoto(), item.getUsuarioId(), item.getCategoria(), item.getCategoriaId(),
+                item.getProvisoria(), item.getDataAtualizacao());
+    }
+
+    /**
+     * Postagens mais recentes de um idioma, imutáveis.
+     *
+     * @param itens    resumos ordenados pela data de criação e pelo ID, em ordem descendente.
+     * @param completa {@code true} se não existem postagens mais antigas que as mantidas em memória.
+     */
+    private record Timeline(List<PostagemResumoDTO> itens, boolean completa) {
+
+        Timeline comPostagem(PostagemResumoDTO resumo, int capacidade) {
+            List<PostagemResumoDTO> novos = new ArrayList<>(itens);
+            novos.removeIf(item -> item.getId().equals(resumo.getId()));
+
+            int posicao = Collections.binarySearch(novos, resumo, ORDEM_FEED);
+            posicao = posicao >= 0 ? posicao : -posicao - 1;
+
+            // Postagem mais antiga que as mantidas em memória: continua sendo buscada no banco
+            if (posicao == novos.size() && !completa) {
+                return new Timeline(List.copyOf(novos), false);
+            }
+
+            novos.add(posicao, resumo);
+            boolean continuaCompleta = completa;
+            if (novos.size() > capacidade) {
+                novos.remove(novos.size() - 1);
+                continuaCompleta = false;
+            }
+            return new Timeline(List.copyOf(novos), continuaCompleta);
+        }
+
+        Timeline comAutor(String usuarioId, String nome, String foto) {
+            List<PostagemResumoDTO> novos = new ArrayList<>(itens.size());
+            for (PostagemResumoDTO item : itens) {
+                if (usuarioId.equals(item.getUsuarioId())) {
+                    item = new PostagemResumoDTO(
+                            item.getId(), item.getTitulo(), item.getResumo(), item.getImagem(), item.getDataCriacao(),
+                            item.getTotalCurtidas(), item.getCurtidoPeloUsuario(), nome, foto, item.getUsuarioId(),
+                            item.getCategoria(), item.getCategoriaId(), item.getProvisoria(), item.getDataAtualizacao());
+                }
+                novos.add(item);
+            }
+            return new Timeline(List.copyOf(novos), completa);
+        }
+
+        Timeline semPostagem(String postagemId) {
+            List<PostagemResumoDTO> novos = new ArrayList<>(itens);
+            novos.removeIf(item -> item.getId().equals(postagemId));
+            return new Timeline(List.copyOf(novos), completa);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.service.MemoriaTraducaoService.LoteTraduzido;
+import com.manoela.blog.util.SegmentadorTexto;
+import com.manoela.blog.util.SegmentadorTexto.Segmento;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço que traduz postagens segmento a segmento.
+ * <p>
+ * O conteúdo é dividido em parágrafos e frases (frases maiores que {@code libretranslate.lote.max-caracteres}
+ * são divididas entre palavras, para que nenhum pedido à API exceda o limite), e a tradução de cada segmento fica guardada na
+ * memória de tradução. Ao editar uma postagem, apenas os segmentos cujo texto de origem mudou
+ * são enviados à API; os demais são reaproveitados e o conteúdo traduzido é remontado na ordem original.
+ * </p>
+ * <p>
+ * O tempo de cada tradução é medido por faixa de tamanho do conteúdo ({@code traducao.postagem.duracao}).
+ * </p>
+ */
+@Service
+public class TraducaoSegmentadaService {
+
+    private final MemoriaTraducaoService memoriaTraducaoService;
+    private final DistributionSummary segmentosReutilizados;
+    private final DistributionSummary segmentosRetraduzidos;
+    private final MeterRegistry meterRegistry;
+    private final int maxCaracteresPorSegmento;
+
+    public TraducaoSegmentadaService(MemoriaTraducaoService memoriaTraducaoService, MeterRegistry meterRegistry,
+                                     @Value("${libretranslate.lote.max-caracteres:5000}") int maxCaracteresPorSegmento) {
+        this.memoriaTraducaoService = memoriaTraducaoService;
+        this.maxCaracteresPorSegmento = maxCaracteresPorSegmento;
+        this.segmentosReutilizados = resumo(meterRegistry, "reutilizados");
+        this.segmentosRetraduzidos = resumo(meterRegistry, "retraduzidos");
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Traduz o título e o conteúdo de uma postagem, reaproveitando os segmentos já traduzidos.
+     *
+     * @param titulo       Título no idioma de origem.
+     * @param conteudo     Conteúdo no idioma de origem.
+     * @param idiomaOrigem Código do idioma de origem.
+     * @param idiomaAlvo   Código do idioma de destino.
+     * @return {@link PostagemTraduzida} com título e conteúdo traduzidos, ou {@code null} caso a API de tradução falhe.
+     */
+    public PostagemTraduzida traduzir(String titulo, String conteudo, String idiomaOrigem, String idiomaAlvo) {
+        return duracao(conteudo).record(() -> traduzirSegmentos(titulo, conteudo, idiomaOrigem, idiomaAlvo));
+    }
+
+    /**
+     * Título e conteúdo de uma postagem traduzidos para um idioma.
+     *
+     * @param titulo   título traduzido.
+     * @param conteudo conteúdo traduzido.
+     */
+    public record PostagemTraduzida(String titulo, String conteudo) {}
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private PostagemTraduzida traduzirSegmentos(String titulo, String conteudo, String idiomaOrigem, String idiomaAlvo) {
+        List<Segmento> segmentos = SegmentadorTexto.dividir(conteudo, maxCaracteresPorSegmento);
+
+        List<String> textos = new ArrayList<>();
+        textos.add(titulo);
+        for (Segmento segmento : segmentos) {
+            if (!segmento.texto().isBlank()) {
+                textos.add(segmento.texto());
+            }
+        }
+
+        LoteTraduzido lote = memoriaTraducaoService.traduzirLoteDetalhado(textos, idiomaOrigem, idiomaAlvo);
+        if (lote == null) {
+            return null;
+        }
+        segmentosReutilizados.record(lote.reutilizados());
+        segmentosRetraduzidos.record(lote.retraduzidos());
+
+        List<String> segmentosTraduzidos = new ArrayList<>(segmentos.size());
+        int proximo = 1;
+        for (Segmento segmento : segmentos) {
+            segmentosTraduzidos.add(segmento.texto().isBlank() ? segmento.texto() : lote.textos().get(proximo++));
+        }
+
+        return new PostagemTraduzida(lote.textos().get(0), SegmentadorTexto.juntar(segmentos, segmentosTraduzidos));
+    }
+
+    private Timer duracao(String conteudo) {
+        return Timer.builder("traducao.postagem.duracao")
+                .description("Tempo para traduzir uma postagem para um idioma, por tamanho do conteúdo")
+                .tag("tamanho", faixaDeTamanho(conteudo.length()))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static String faixaDeTamanho(int caracteres) {
+        if (caracteres <= 1_000) {
+            return "ate_1k";
+        } else if (caracteres <= 5_000) {
+            return "ate_5k";
+        } else if (caracteres <= 20_000) {
+            return "ate_20k";
+        }
+        return "acima_20k";
+    }
+
+    private static DistributionSummary resumo(MeterRegistry meterRegistry, String tipo) {
+        return DistributionSummary.builder("traducao.segmentos")
+                .description("Segmentos por tradução de postagem, reaproveitados ou enviados à API")
+                .tag("tipo", tipo)
+                .register(meterRegistry);
+    }
+}
@@ -3,8 +3,11 @@ package com.manoela.blog.service;
 import com.manoela.blog.domain.postagem.Postagem;
 import com.manoela.blog.domain.postagem.PostagemTraducao;
 import com.manoela.blog.domain.postagem.PostagemTraducaoId;
+import com.manoela.blog.event.TraducaoPendenteEvent;
+import com.manoela.blog.repository.PostagemRepository;
 import com.manoela.blog.repository.PostagemTraducaoRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,12 +18,23 @@ import java.util.stream.Collectors;
 /**
  * Serviço responsável por gerenciar as traduções de postagens.
  * Inclui operações de salvar, buscar e mapear traduções por idioma.
+ * <p>
+ * Sempre que uma leitura encontra uma tradução provisória, ou nenhuma tradução, é publicado um
+ * {@link TraducaoPendenteEvent}, usado pela tradução sob demanda.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class TraducaoService {
 
+    /**
+     * Quantidade máxima de caracteres do resumo exibido nas listagens.
+     */
+    private static final int TAMANHO_RESUMO = 300;
+
     private final PostagemTraducaoRepository postagemTraducaoRepository;
+    private final PostagemRepository postagemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Salva ou atualiza a tradução de uma postagem para um determinado idioma.
@@ -31,34 +45,58 @@ public class TraducaoService {
      * @param conteudo Conteúdo traduzido.
      */
     public void salvarTraducao(Postagem postagem, String idioma, String titulo, String conteudo) {
+        salvarTraducao(postagem, idioma, titulo, conteudo, false);
+    }
+
+    /**
+     * Salva uma tradução provisória, contendo o texto no idioma de origem,
+     * que será substituída quando a tradução em segundo plano for concluída.
+     *
+     * @param postagem Postagem original.
+     * @param idioma Idioma alvo da tradução.
+     * @param titulo Título no idioma de origem.
+     * @param conteudo Conteúdo no idioma de origem.
+     */
+    public void salvarTraducaoProvisoria(Postagem postagem, String idioma, String titulo, String conteudo) {
+        salvarTraducao(postagem, idioma, titulo, conteudo, true);
+    }
+
+    private void salvarTraducao(Postagem postagem, String idioma, String titulo, String conteudo, boolean provisoria) {
+        if (titulo == null || conteudo == null) {
+            throw new IllegalArgumentException("Tradução sem título ou conteúdo para o idioma " + idioma);
+        }
+
         PostagemTraducao traducao = new PostagemTraducao();
         traducao.setId(new PostagemTraducaoId(postagem.getId(), idioma));
         traducao.setPostagem(postagem);
         traducao.setTitulo(titulo);
         traducao.setConteudo(conteudo);
+        traducao.setResumo(gerarResumo(conteudo));
+        traducao.setProvisoria(provisoria);
 
         postagemTraducaoRepository.save(traducao);
     }
 
     /**
-     * Retorna todas as traduções de postagens específicas em um idioma.
+     * Marca as traduções de uma postagem como provisórias, exceto a do idioma de origem.
+     * Elas continuam sendo exibidas até serem refeitas a partir do novo texto.
      *
-     * @param idioma Idioma desejado.
-     * @param idsPostagens Lista de IDs de postagens.
-     * @return Lista de traduções encontradas.
+     * @param postagem Postagem editada.
+     * @param idiomaOrigem Idioma do texto de origem.
      */
-    public List<PostagemTraducao> buscarPorIdiomaEIdsPostagem(String idioma, List<String> idsPostagens) {
-        return postagemTraducaoRepository.findById_IdiomaAndId_PostagemIdIn(idioma, idsPostagens);
+    public void marcarTraducoesComoProvisorias(Postagem postagem, String idiomaOrigem) {
+        postagemTraducaoRepository.marcarComoProvisorias(postagem.getId(), idiomaOrigem);
     }
 
     /**
-     * Retorna todas as traduções de postagens no idioma especificado
+     * Retorna todas as traduções de postagens específicas em um idioma.
      *
      * @param idioma Idioma desejado.
-     * @return Lista de traduções ordenadas.
+     * @param idsPostagens Lista de IDs de postagens.
+     * @return Lista de traduções encontradas.
      */
-    public List<PostagemTraducao> buscarPostagensTraduzidasPorIdiomaOrdenadas(String idioma) {
-        return postagemTraducaoRepository.buscarPostagensTraduzidasPorIdiomaOrdenadas(idioma);
+    public List<PostagemTraducao> buscarPorIdiomaEIdsPostagem(String idioma, List<String> idsPostagens) {
+        return notificarProvisorias(postagemTraducaoRepository.findById_IdiomaAndId_PostagemIdIn(idioma, idsPostagens));
     }
 
     /**
@@ -80,16 +118,28 @@ public class TraducaoService {
 
     /**
      * Busca a tradução de uma postagem para um idioma específico.
+     * <p>
+     * Se ainda não houver tradução para o idioma, é retornado o texto no idioma de origem
+     * enquanto a tradução é solicitada.
+     * </p>
      *
      * @param postagem Postagem original.
      * @param idioma Idioma da tradução.
      * @return Tradução da postagem.
-     * @throws RuntimeException se a tradução não for encontrada.
+     * @throws RuntimeException se nem a tradução nem o texto de origem forem encontrados.
      */
     public PostagemTraducao buscarTraducao(Postagem postagem, String idioma) {
         PostagemTraducaoId id = new PostagemTraducaoId(postagem.getId(), idioma);
-        return postagemTraducaoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tradução da postagem não encontrada"));
+        Optional<PostagemTraducao> traducao = postagemTraducaoRepository.findById(id);
+
+        if (traducao.isEmpty() && postagem.getIdiomaOrigem() != null) {
+            eventPublisher.publishEvent(new TraducaoPendenteEvent(postagem.getId(), idioma));
+            traducao = buscarTraducaoOptional(postagem, postagem.getIdiomaOrigem());
+        } else {
+            traducao.ifPresent(this::notificarSeProvisoria);
+        }
+
+        return traducao.orElseThrow(() -> new RuntimeException("Tradução da postagem não encontrada"));
     }
 
     /**
@@ -100,7 +150,75 @@ public class TraducaoService {
      * @return Optional com a tradução, se existir.
      */
     public Optional<PostagemTraducao> buscarTraducaoOptional(Postagem postagem, String idioma) {
-        PostagemTraducaoId id = new PostagemTraducaoId(postagem.getId(), idioma);
+        return buscarTraducaoOptional(postagem.getId(), idioma);
+    }
+
+    /**
+     * Busca uma tradução pelo ID da postagem, sem lançar exceção.
+     *
+     * @param postagemId ID da postagem original.
+     * @param idioma Idioma desejado.
+     * @return Optional com a tradução, se existir.
+     */
+    public Optional<PostagemTraducao> buscarTraducaoOptional(String postagemId, String idioma) {
+        PostagemTraducaoId id = new PostagemTraducaoId(postagemId, idioma);
         return postagemTraducaoRepository.findById(id);
     }
+
+    /**
+     * Verifica se o texto de origem de uma postagem mudou desde que foi lido para ser traduzido.
+     * Uma tradução feita a partir de um texto alterado não deve ser gravada como definitiva.
+     *
+     * @param postagemId ID da postagem.
+     * @param idiomaOrigem Idioma de origem no momento da leitura.
+     * @param titulo Título lido.
+     * @param conteudo Conteúdo lido.
+     * @return {@code true} se a postagem foi excluída, trocou de idioma de origem ou teve o texto editado.
+     */
+    public boolean origemAlterada(String postagemId, String idiomaOrigem, String titulo, String conteudo) {
+        // A edição pode ter trocado o idioma de origem, deixando o texto antigo intacto
+        boolean mesmoIdioma = postagemRepository.findById(postagemId)
+                .map(p -> idiomaOrigem.equals(p.getIdiomaOrigem()))
+                .orElse(false);
+        return !mesmoIdioma || buscarTraducaoOptional(postagemId, idiomaOrigem)
+                .map(o -> !o.getTitulo().equals(titulo) || !o.getConteudo().equals(conteudo))
+                .orElse(true);
+    }
+
+    /**
+     * Informa que uma postagem foi lida em um idioma cuja tradução ainda é provisória.
+     * Usado pelas listagens que leem as traduções por projeção, sem carregar as entidades.
+     *
+     * @param postagemId ID da postagem lida.
+     * @param idioma Idioma da leitura.
+     */
+    public void notificarTraducaoProvisoria(String postagemId, String idioma) {
+        eventPublisher.publishEvent(new TraducaoPendenteEvent(postagemId, idioma));
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private List<PostagemTraducao> notificarProvisorias(List<PostagemTraducao> traducoes) {
+        traducoes.forEach(this::notificarSeProvisoria);
+        return traducoes;
+    }
+
+    private void notificarSeProvisoria(PostagemTraducao traducao) {
+        if (traducao.isProvisoria()) {
+            eventPublisher.publishEvent(new TraducaoPendenteEvent(
+                    traducao.getId().getPostagemId(), traducao.getId().getIdioma()));
+        }
+    }
+
+    /**
+     * Extrai o início do conteúdo, sem dividir caracteres representados por pares substitutos.
+     */
+    private static String gerarResumo(String conteudo) {
+        String texto = conteudo.strip();
+        if (texto.length() <= TAMANHO_RESUMO) {
+            return texto;
+        }
+        int fim = Character.isHighSurrogate(texto.charAt(TAMANHO_RESUMO - 1)) ? TAMANHO_RESUMO - 1 : TAMANHO_RESUMO;
+        return texto.substring(0, fim);
+    }
 }
@@ -0,0 +1,168 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.postagem.Postagem;
+import com.manoela.blog.domain.postagem.PostagemTraducao;
+import com.manoela.blog.domain.traducao.ModoTraducao;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.event.TraducaoPendenteEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.service.TraducaoSegmentadaService.PostagemTraduzida;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço que traduz postagens apenas quando são lidas em um idioma ainda não traduzido.
+ * <p>
+ * Ativo quando {@code traducao.modo=SOB_DEMANDA}. A leitura não aguarda a tradução: o texto
+ * de origem é exibido enquanto ela é feita em segundo plano. Leitores simultâneos do mesmo
+ * par (postagem, idioma) compartilham uma única tradução em andamento, de forma que a API
+ * LibreTranslate seja chamada apenas uma vez. Se a tradução falhar, ela é registrada na fila de
+ * traduções e refeita com as mesmas regras de novas tentativas do modo antecipado.
+ * </p>
+ */
+@Service
+public class TraducaoSobDemandaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TraducaoSobDemandaService.class);
+
+    private final TaskExecutor traducaoExecutor;
+    private final PostagemRepository postagemRepository;
+    private final TraducaoService traducaoService;
+    private final TraducaoSegmentadaService traducaoSegmentadaService;
+    private final FilaTraducaoService filaTraducaoService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Traduções em andamento, indexadas por postagem e idioma.
+     */
+    private final Map<String, CompletableFuture<Void>> emAndamento = new ConcurrentHashMap<>();
+
+    @Value("${traducao.modo:ANTECIPADO}")
+    private ModoTraducao modo;
+
+    public TraducaoSobDemandaService(@Qualifier("traducaoExecutor") TaskExecutor traducaoExecutor,
+                                     PostagemRepository postagemRepository,
+                                     TraducaoService traducaoService,
+                                     TraducaoSegmentadaService traducaoSegmentadaService,
+                                     FilaTraducaoService filaTraducaoService,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.traducaoExecutor = traducaoExecutor;
+        this.postagemRepository = postagemRepository;
+        this.traducaoService = traducaoService;
+        this.traducaoSegmentadaService = traducaoSegmentadaService;
+        this.filaTraducaoService = filaTraducaoService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Solicita a tradução de uma postagem lida em um idioma ainda não traduzido.
+     *
+     * @param evento postagem e idioma lidos.
+     */
+    @EventListener
+    public void aoEncontrarTraducaoPendente(TraducaoPendenteEvent evento) {
+        if (modo == ModoTraducao.SOB_DEMANDA) {
+            solicitar(evento.postagemId(), evento.idioma());
+        }
+    }
+
+    /**
+     * Inicia a tradução de uma postagem para um idioma, ou retorna a tradução já em andamento.
+     *
+     * @param postagemId ID da postagem.
+     * @param idioma     Idioma de destino.
+     * @return Future concluído quando a tradução terminar, com ou sem sucesso.
+     */
+    public CompletableFuture<Void> solicitar(String postagemId, String idioma) {
+        String chave = postagemId + "|" + idioma;
+        CompletableFuture<Void> nova = new CompletableFuture<>();
+
+        CompletableFuture<Void> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            return existente;
+        }
+
+        try {
+            traducaoExecutor.execute(() -> {
+                boolean desatualizada = false;
+                try {
+                    desatualizada = traduzir(postagemId, idioma);
+                } catch (RuntimeException e) {
+                    log.warn("Erro ao traduzir postagem {} para {} sob demanda", postagemId, idioma, e);
+                } finally {
+                    emAndamento.remove(chave, nova);
+                    nova.complete(null);
+                }
+                // A postagem foi editada durante a tradução: traduz novamente a partir do novo texto
+                if (desatualizada) {
+                    solicitar(postagemId, idioma);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Pool cheio: a próxima leitura solicita a tradução novamente
+            emAndamento.remove(chave, nova);
+            nova.complete(null);
+        }
+        return nova;
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    /**
+     * Traduz a postagem a partir do texto de origem atual.
+     *
+     * @return {@code true} se o texto de origem foi editado durante a tradução; nesse caso a tradução
+     * não é gravada como definitiva e precisa ser refeita.
+     */
+    private boolean traduzir(String postagemId, String idioma) {
+        Optional<Postagem> postagem = postagemRepository.findById(postagemId);
+        if (postagem.isEmpty() || postagem.get().getIdiomaOrigem() == null) {
+            return false;
+        }
+        String idiomaOrigem = postagem.get().getIdiomaOrigem();
+
+        // Outra leitura pode ter concluído a tradução antes desta começar
+        Optional<PostagemTraducao> atual = traducaoService.buscarTraducaoOptional(postagemId, idioma);
+        if (atual.isPresent() && !atual.get().isProvisoria()) {
+            return false;
+        }
+
+        Optional<PostagemTraducao> origem = traducaoService.buscarTraducaoOptional(postagemId, idiomaOrigem);
+        if (origem.isEmpty() || idioma.equals(idiomaOrigem)) {
+            return false;
+        }
+        String titulo = origem.get().getTitulo();
+        String conteudo = origem.get().getConteudo();
+
+        PostagemTraduzida traduzida = traducaoSegmentadaService.traduzir(titulo, conteudo, idiomaOrigem, idioma);
+        if (traduzida == null) {
+            filaTraducaoService.enfileirar(postagemId, idiomaOrigem, idioma);
+            return false;
+        }
+        if (traducaoService.origemAlterada(postagemId, idiomaOrigem, titulo, conteudo)) {
+            return true;
+        }
+
+        traducaoService.salvarTraducao(postagem.get(), idioma, traduzida.titulo(), traduzida.conteudo());
+
+        // Uma edição concluída entre a verificação e a gravação deixaria a tradução antiga como definitiva
+        boolean desatualizada = traducaoService.origemAlterada(postagemId, idiomaOrigem, titulo, conteudo);
+        if (desatualizada) {
+            traducaoService.salvarTraducaoProvisoria(postagem.get(), idioma, traduzida.titulo(), traduzida.conteudo());
+        }
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagemId, false));
+        return desatualizada;
+    }
+}
@@ -3,8 +3,10 @@ package com.manoela.blog.service;
 import com.manoela.blog.domain.usuario.Usuario;
 import com.manoela.blog.dto.UsuarioDTO;
 import com.manoela.blog.dto.UsuarioEditDTO;
+import com.manoela.blog.event.UsuarioAlteradoEvent;
 import com.manoela.blog.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,7 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final ArquivoService arquivoService;
+    private final ApplicationEventPublisher eventPublisher;
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     /**
@@ -65,6 +68,7 @@ public class UsuarioService {
         }
 
         usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getId()));
     }
 
     /**
@@ -0,0 +1,114 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.event.CurtidaAlteradaEvent;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.event.UsuarioAlteradoEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serviço que informa, sem consultar o banco, quando o conteúdo das páginas de postagens foi alterado pela última vez.
+ * <p>
+ * Cada alteração (postagem criada, editada, traduzida ou excluída, curtida ou perfil de usuário alterado)
+ * registra o instante em que ocorreu. As páginas de uma postagem dependem das alterações dessa postagem e da
+ * sua lista de postagens relacionadas, agrupadas em faixas de memória fixa (postagens da mesma faixa
+ * compartilham a versão), e das alterações de qualquer postagem ou usuário, exibidos no bloco de relacionadas
+ * e como autor; o feed e os perfis dependem de qualquer alteração. As versões partem do instante em que a aplicação foi iniciada, de forma que
+ * nenhuma versão anterior a um reinício seja considerada atual.
+ * </p>
+ */
+@Service
+public class VersaoConteudoService {
+
+    private static final int FAIXAS = 1024;
+
+    private final AtomicLongArray postagens = new AtomicLongArray(FAIXAS);
+    private final AtomicLong geral = new AtomicLong();
+    private final AtomicLong usuarios = new AtomicLong();
+    private final AtomicLong publicacoes = new AtomicLong();
+
+    public VersaoConteudoService() {
+        long inicio = System.currentTimeMillis();
+        for (int i = 0; i < FAIXAS; i++) {
+            postagens.set(i, inicio);
+        }
+        geral.set(inicio);
+        usuarios.set(inicio);
+        publicacoes.set(inicio);
+    }
+
+    /**
+     * Retorna a versão da página de uma postagem.
+     *
+     * @param postagemId ID da postagem.
+     * @return instante, em milissegundos, da última alteração que afeta a postagem.
+     */
+    public long versaoPostagem(String postagemId) {
+        return Math.max(postagens.get(faixa(postagemId)), Math.max(usuarios.get(), publicacoes.get()));
+    }
+
+    /**
+     * Retorna a versão das listagens de postagens (feed e perfis).
+     *
+     * @return instante, em milissegundos, da última alteração de qualquer postagem, curtida ou usuário.
+     */
+    public long versaoListagens() {
+        return geral.get();
+    }
+
+    /**
+     * Registra a alteração da lista de postagens relacionadas exibida na página de uma postagem.
+     *
+     * @param postagemId ID da postagem.
+     */
+    public void registrarAlteracaoRelacionadas(String postagemId) {
+        postagens.accumulateAndGet(faixa(postagemId), System.currentTimeMillis(), VersaoConteudoService::proximaVersao);
+    }
+
+    /**
+     * O título da postagem, e a própria postagem nas mais recentes da categoria, aparecem no bloco de
+     * relacionadas das páginas de outras postagens.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPostagem(PostagemAlteradaEvent evento) {
+        publicacoes.accumulateAndGet(System.currentTimeMillis(), VersaoConteudoService::proximaVersao);
+        registrarAlteracao(evento.postagemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCurtida(CurtidaAlteradaEvent evento) {
+        registrarAlteracao(evento.postagemId());
+    }
+
+    /**
+     * O nome e a foto do autor aparecem em todas as páginas de postagens.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlteradoEvent evento) {
+        long agora = System.currentTimeMillis();
+        usuarios.accumulateAndGet(agora, VersaoConteudoService::proximaVersao);
+        geral.accumulateAndGet(agora, VersaoConteudoService::proximaVersao);
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void registrarAlteracao(String postagemId) {
+        long agora = System.currentTimeMillis();
+        postagens.accumulateAndGet(faixa(postagemId), agora, VersaoConteudoService::proximaVersao);
+        geral.accumulateAndGet(agora, VersaoConteudoService::proximaVersao);
+    }
+
+    /**
+     * Garante que a versão sempre avance, mesmo com alterações no mesmo milissegundo.
+     */
+    private static long proximaVersao(long atual, long agora) {
+        return Math.max(atual + 1, agora);
+    }
+
+    private static int faixa(String postagemId) {
+        return Math.floorMod(postagemId.hashCode(), FAIXAS);
+    }
+}
@@ -0,0 +1,150 @@
+package com.manoela.blog.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitário que converte textos em termos de busca, de acordo com o idioma.
+ * <p>
+ * O texto é convertido para minúsculas, os acentos são removidos e as palavras são separadas
+ * por qualquer caractere que não seja letra ou dígito. Palavras muito comuns do idioma (stopwords)
+ * são descartadas e as demais são reduzidas a um radical aproximado, de forma que variações como
+ * plural e advérbios em "-mente" / "-ly" encontrem a mesma postagem. Idiomas sem regras próprias
+ * usam apenas a normalização.
+ * </p>
+ */
+public class AnalisadorTexto {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final int TAMANHO_MINIMO = 2;
+
+    private static final Map<String, Set<String>> STOPWORDS = Map.of(
+            "pt", Set.of("a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "ela", "ele",
+                    "em", "entre", "era", "essa", "esse", "esta", "este", "eu", "foi", "ha", "isso", "ja", "mais",
+                    "mas", "me", "na", "nas", "nao", "no", "nos", "o", "os", "ou", "para", "pela", "pelo", "por",
+                    "que", "se", "sem", "ser", "seu", "sua", "so", "tambem", "um", "uma", "voce"),
+            "en", Set.of("a", "about", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have",
+                    "how", "in", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "was", "were",
+                    "what", "when", "which", "with", "you", "your"),
+            "es", Set.of("a", "al", "como", "con", "de", "del", "el", "en", "entre", "es", "esta", "este", "la",
+                    "las", "lo", "los", "mas", "no", "o", "para", "pero", "por", "que", "se", "sin", "su", "sus",
+                    "tambien", "un", "una", "y", "ya"));
+
+    /**
+     * Converte um texto em termos de busca.
+     *
+     * @param texto  texto a ser analisado; {@code null} resulta em lista vazia.
+     * @param idioma idioma do texto (ex: "pt-BR", "en", "es").
+     * @return termos na ordem em que aparecem no texto.
+     */
+    public static List<String> analisar(String texto, String idioma) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String base = idiomaBase(idioma);
+        Set<String> stopwords = STOPWORDS.getOrDefault(base, Set.of());
+
+        String normalizado = MARCAS_DIACRITICAS
+                .matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+
+        List<String> termos = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(normalizado)) {
+            if (palavra.length() < TAMANHO_MINIMO || stopwords.contains(palavra)) {
+                continue;
+            }
+            termos.add(radical(palavra, base));
+        }
+        return termos;
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private static String idiomaBase(String idioma) {
+        if (idioma == null) {
+            return "";
+        }
+        int separador = idioma.indexOf('-');
+        return (separador > 0 ? idioma.substring(0, separador) : idioma).toLowerCase(Locale.ROOT);
+    }
+
+    private static String radical(String palavra, String idioma) {
+        return switch (idioma) {
+            case "pt" -> radicalPortugues(palavra);
+            case "es" -> radicalEspanhol(palavra);
+            case "en" -> radicalIngles(palavra);
+            default -> palavra;
+        };
+    }
+
+    private static String radicalPortugues(String palavra) {
+        String p = removerSufixo(palavra, "mente", 4);
+        if (p.endsWith("oes") || p.endsWith("aes")) {
+            return p.substring(0, p.length() - 3) + "ao";
+        }
+        if (p.endsWith("ais") && p.length() > 4) {
+            return p.substring(0, p.length() - 3) + "al";
+        }
+        if (p.endsWith("eis") && p.length() > 4) {
+            return p.substring(0, p.length() - 3) + "el";
+        }
+        if (p.endsWith("ns") && p.length() > 3) {
+            return p.substring(0, p.length() - 2) + "m";
+        }
+        if ((p.endsWith("res") || p.endsWith("zes") || p.endsWith("ses")) && p.length() > 4) {
+            return p.substring(0, p.length() - 2);
+        }
+        return removerSufixo(p, "s", 3);
+    }
+
+    private static String radicalEspanhol(String palavra) {
+        String p = removerSufixo(palavra, "mente", 4);
+        if (p.endsWith("ces") && p.length() > 4) {
+            return p.substring(0, p.length() - 3) + "z";
+        }
+        p = p.endsWith("es") ? removerSufixo(p, "es", 3) : removerSufixo(p, "s", 3);
+
+        // Singular e plural passam a ter o mesmo radical (ex: "clase", "clases" -> "clas")
+        if (p.length() > 4 && vogal(p.charAt(p.length() - 1))) {
+            return p.substring(0, p.length() - 1);
+        }
+        return p;
+    }
+
+    private static String radicalIngles(String palavra) {
+        String p = palavra;
+        if (p.endsWith("ies") && p.length() > 4) {
+            return p.substring(0, p.length() - 3) + "y";
+        }
+        p = removerSufixo(p, "ly", 4);
+        p = removerSufixo(p, "ing", 4);
+        p = removerSufixo(p, "ed", 4);
+        if (p.endsWith("sses") || p.endsWith("ches") || p.endsWith("shes") || p.endsWith("xes")) {
+            return p.substring(0, p.length() - 2);
+        }
+        if (p.endsWith("s") && !p.endsWith("ss") && p.length() > 3) {
+            return p.substring(0, p.length() - 1);
+        }
+        return p;
+    }
+
+    /**
+     * Remove o sufixo se o radical restante tiver ao menos o tamanho mínimo informado.
+     */
+    private static String removerSufixo(String palavra, String sufixo, int radicalMinimo) {
+        if (palavra.endsWith(sufixo) && palavra.length() - sufixo.length() >= radicalMinimo) {
+            return palavra.substring(0, palavra.length() - sufixo.length());
+        }
+        return palavra;
+    }
+
+    private static boolean vogal(char c) {
+        return "aeiou".indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.manoela.blog.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória com capacidade limitada e descarte do item usado há mais tempo (LRU).
+ * <p>
+ * Todas as operações são sincronizadas, podendo ser compartilhado entre threads.
+ * </p>
+ *
+ * @param <K> tipo da chave.
+ * @param <V> tipo do valor.
+ */
+public class CacheLru<K, V> {
+
+    private final Map<K, V> itens;
+
+    /**
+     * Cria um cache com a capacidade máxima informada.
+     *
+     * @param capacidade quantidade máxima de itens mantidos em memória.
+     */
+    public CacheLru(int capacidade) {
+        this.itens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> maisAntigo) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    /**
+     * Obtém um item do cache, marcando-o como usado recentemente.
+     *
+     * @param chave chave do item.
+     * @return o valor armazenado, ou {@code null} se não estiver no cache.
+     */
+    public synchronized V get(K chave) {
+        return itens.get(chave);
+    }
+
+    /**
+     * Armazena um item no cache, descartando o menos usado caso a capacidade seja excedida.
+     *
+     * @param chave chave do item.
+     * @param valor valor a ser armazenado.
+     */
+    public synchronized void put(K chave, V valor) {
+        itens.put(chave, valor);
+    }
+
+    /**
+     * Remove um item do cache.
+     *
+     * @param chave chave do item.
+     */
+    public synchronized void remove(K chave) {
+        itens.remove(chave);
+    }
+
+    /**
+     * Remove todos os itens cujas chaves atendam à condição informada.
+     *
+     * @param condicao condição aplicada às chaves.
+     */
+    public synchronized void removeIf(Predicate<K> condicao) {
+        itens.keySet().removeIf(condicao);
+    }
+
+    /**
+     * Retorna a quantidade de itens atualmente no cache.
+     *
+     * @return quantidade de itens.
+     */
+    public synchronized int size() {
+        return itens.size();
+    }
+}
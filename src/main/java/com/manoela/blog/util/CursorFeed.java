@@ -0,0 +1,53 @@
+package com.manoela.blog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição no feed a partir da qual a próxima página é buscada.
+ * <p>
+ * Corresponde à última postagem exibida, identificada pela data de criação e pelo ID, que desempata
+ * postagens criadas no mesmo instante. É trafegada como um texto opaco em Base64 URL-safe.
+ * </p>
+ *
+ * @param dataCriacao data de criação da última postagem exibida.
+ * @param id          ID da última postagem exibida.
+ */
+public record CursorFeed(LocalDateTime dataCriacao, String id) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica o cursor como um texto opaco, seguro para uso em URLs.
+     *
+     * @return cursor codificado.
+     */
+    public String codificar() {
+        String valor = dataCriacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido na requisição.
+     *
+     * @param valor cursor codificado.
+     * @return cursor decodificado, ou {@code null} se o valor estiver vazio ou for inválido.
+     */
+    public static CursorFeed decodificar(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(valor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(SEPARADOR);
+            if (separador < 0) {
+                return null;
+            }
+            return new CursorFeed(LocalDateTime.parse(texto.substring(0, separador)), texto.substring(separador + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
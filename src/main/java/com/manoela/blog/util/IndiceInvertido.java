@@ -0,0 +1,286 @@
+package com.manoela.blog.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória dos textos de um idioma, com ordenação dos resultados por BM25.
+ * <p>
+ * Cada documento (postagem) é indexado a partir do título e do conteúdo; os termos do título contam
+ * em dobro. O índice guarda, para cada termo, as postagens em que aparece e a frequência do termo
+ * em cada uma, e para cada postagem os seus termos, permitindo reindexar ou remover uma postagem
+ * sem reconstruir o índice. Leituras concorrentes são permitidas; alterações são exclusivas.
+ * </p>
+ */
+public class IndiceInvertido {
+
+    /**
+     * Versão do formato gravado em disco.
+     */
+    private static final int FORMATO = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    private final String idioma;
+    private final Map<String, Map<String, Integer>> postagensPorTermo = new HashMap<>();
+    private final Map<String, Map<String, Integer>> termosPorPostagem = new HashMap<>();
+    private final Map<String, Integer> tamanhos = new HashMap<>();
+    private long tamanhoTotal;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Cria um índice vazio.
+     *
+     * @param idioma idioma dos textos indexados, usado na análise dos textos e das consultas.
+     */
+    public IndiceInvertido(String idioma) {
+        this.idioma = idioma;
+    }
+
+    /**
+     * Resultado de uma busca.
+     *
+     * @param postagemId ID da postagem encontrada.
+     * @param pontuacao  relevância da postagem para a consulta (BM25).
+     */
+    public record Resultado(String postagemId, double pontuacao) {}
+
+    public String getIdioma() {
+        return idioma;
+    }
+
+    /**
+     * Indexa uma postagem, substituindo a versão anterior, se houver.
+     *
+     * @param postagemId ID da postagem.
+     * @param titulo     título no idioma do índice.
+     * @param conteudo   conteúdo no idioma do índice.
+     */
+    public void indexar(String postagemId, String titulo, String conteudo) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String termo : AnalisadorTexto.analisar(titulo, idioma)) {
+            frequencias.merge(termo, PESO_TITULO, Integer::sum);
+        }
+        for (String termo : AnalisadorTexto.analisar(conteudo, idioma)) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+
+        trava.writeLock().lock();
+        try {
+            removerSemTrava(postagemId);
+            adicionarSemTrava(postagemId, frequencias);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma postagem do índice.
+     *
+     * @param postagemId ID da postagem.
+     */
+    public void remover(String postagemId) {
+        trava.writeLock().lock();
+        try {
+            removerSemTrava(postagemId);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as postagens mais relevantes para a consulta.
+     *
+     * @param consulta texto da busca.
+     * @param limite   quantidade máxima de resultados.
+     * @return resultados em ordem decrescente de relevância.
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        Set<String> termos = Set.copyOf(AnalisadorTexto.analisar(consulta, idioma));
+        if (termos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        trava.readLock().lock();
+        try {
+            int documentos = tamanhos.size();
+            if (documentos == 0) {
+                return List.of();
+            }
+            double tamanhoMedio = (double) tamanhoTotal / documentos;
+
+            Map<String, Double> pontuacoes = new HashMap<>();
+            for (String termo : termos) {
+                Map<String, Integer> postagens = postagensPorTermo.get(termo);
+                if (postagens == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentos - postagens.size() + 0.5) / (postagens.size() + 0.5));
+                postagens.forEach((postagemId, frequencia) -> {
+                    double normalizacao = K1 * (1 - B + B * tamanhos.get(postagemId) / tamanhoMedio);
+                    double pontuacao = idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                    pontuacoes.merge(postagemId, pontuacao, Double::sum);
+                });
+            }
+            return melhores(pontuacoes, limite);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Informa se uma postagem está indexada.
+     *
+     * @param postagemId ID da postagem.
+     * @return {@code true} se a postagem está no índice.
+     */
+    public boolean contem(String postagemId) {
+        trava.readLock().lock();
+        try {
+            return tamanhos.containsKey(postagemId);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os IDs das postagens indexadas.
+     *
+     * @return cópia dos IDs.
+     */
+    public List<String> postagens() {
+        trava.readLock().lock();
+        try {
+            return new ArrayList<>(tamanhos.keySet());
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de postagens indexadas.
+     *
+     * @return quantidade de postagens.
+     */
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return tamanhos.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava o índice. Apenas as frequências por postagem são gravadas; o restante é recalculado na leitura.
+     *
+     * @param saida destino dos dados.
+     * @throws IOException se ocorrer erro de escrita.
+     */
+    public void gravar(DataOutputStream saida) throws IOException {
+        trava.readLock().lock();
+        try {
+            saida.writeInt(FORMATO);
+            saida.writeUTF(idioma);
+            saida.writeInt(termosPorPostagem.size());
+            for (Map.Entry<String, Map<String, Integer>> postagem : termosPorPostagem.entrySet()) {
+                saida.writeUTF(postagem.getKey());
+                saida.writeInt(postagem.getValue().size());
+                for (Map.Entry<String, Integer> termo : postagem.getValue().entrySet()) {
+                    saida.writeUTF(termo.getKey());
+                    saida.writeInt(termo.getValue());
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lê um índice gravado por {@link #gravar(DataOutputStream)}.
+     *
+     * @param entrada origem dos dados.
+     * @return índice lido.
+     * @throws IOException se ocorrer erro de leitura ou o formato não for reconhecido.
+     */
+    public static IndiceInvertido ler(DataInputStream entrada) throws IOException {
+        int formato = entrada.readInt();
+        if (formato != FORMATO) {
+            throw new IOException("Formato de índice não suportado: " + formato);
+        }
+        IndiceInvertido indice = new IndiceInvertido(entrada.readUTF());
+
+        int postagens = entrada.readInt();
+        for (int i = 0; i < postagens; i++) {
+            String postagemId = entrada.readUTF();
+            int termos = entrada.readInt();
+            Map<String, Integer> frequencias = new HashMap<>(termos * 2);
+            for (int j = 0; j < termos; j++) {
+                frequencias.put(entrada.readUTF(), entrada.readInt());
+            }
+            indice.adicionarSemTrava(postagemId, frequencias);
+        }
+        return indice;
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void adicionarSemTrava(String postagemId, Map<String, Integer> frequencias) {
+        if (frequencias.isEmpty()) {
+            return;
+        }
+        int tamanho = 0;
+        for (Map.Entry<String, Integer> termo : frequencias.entrySet()) {
+            postagensPorTermo.computeIfAbsent(termo.getKey(), t -> new HashMap<>()).put(postagemId, termo.getValue());
+            tamanho += termo.getValue();
+        }
+        termosPorPostagem.put(postagemId, frequencias);
+        tamanhos.put(postagemId, tamanho);
+        tamanhoTotal += tamanho;
+    }
+
+    private void removerSemTrava(String postagemId) {
+        Map<String, Integer> anteriores = termosPorPostagem.remove(postagemId);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termo : anteriores.keySet()) {
+            Map<String, Integer> postagens = postagensPorTermo.get(termo);
+            postagens.remove(postagemId);
+            if (postagens.isEmpty()) {
+                postagensPorTermo.remove(termo);
+            }
+        }
+        tamanhoTotal -= tamanhos.remove(postagemId);
+    }
+
+    private static List<Resultado> melhores(Map<String, Double> pontuacoes, int limite) {
+        Comparator<Resultado> ordem = Comparator.comparingDouble(Resultado::pontuacao)
+                .thenComparing(Resultado::postagemId, Comparator.reverseOrder());
+        PriorityQueue<Resultado> fila = new PriorityQueue<>(limite + 1, ordem);
+
+        pontuacoes.forEach((postagemId, pontuacao) -> {
+            fila.add(new Resultado(postagemId, pontuacao));
+            if (fila.size() > limite) {
+                fila.poll();
+            }
+        });
+
+        List<Resultado> resultados = new ArrayList<>(fila);
+        resultados.sort(ordem.reversed());
+        return resultados;
+    }
+}
@@ -0,0 +1,335 @@
+package com.manoela.blog.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking em memória das postagens em alta, com pontuação por curtidas que decai exponencialmente com o tempo.
+ * <p>
+ * Cada curtida vale 1 no instante em que é feita e perde metade do valor a cada meia-vida. Para que a
+ * pontuação não precise ser recalculada com o passar do tempo, cada curtida é somada com o peso
+ * {@code 2^((instante - base) / meiaVida)}: todas as pontuações decaem na mesma proporção, então a ordem
+ * entre as postagens só muda quando uma delas recebe ou perde uma curtida, e cada alteração atualiza apenas
+ * a própria postagem.
+ * </p>
+ * <p>
+ * Além da pontuação de cada postagem curtida, o ranking mantém as {@code capacidade} melhores postagens
+ * de cada categoria e de todas as categorias juntas. Uma postagem que perde curtidas pode ficar abaixo de
+ * outra que não está entre as melhores; {@link #compactar(long)} refaz as listas a partir de todas as
+ * pontuações, descarta as postagens cuja pontuação ficou desprezível e atualiza a base dos pesos.
+ * </p>
+ */
+public class RankingTendencias {
+
+    /**
+     * Versão do formato gravado em disco.
+     */
+    private static final int FORMATO = 1;
+
+    /**
+     * Pontuação atual abaixo da qual a postagem é descartada na compactação (menos de 1% de uma curtida nova).
+     */
+    private static final double PONTUACAO_MINIMA = 0.01;
+
+    /**
+     * Quantidade de meias-vidas após a qual a base dos pesos é atualizada, antes que os pesos fiquem grandes demais.
+     */
+    private static final int MEIAS_VIDAS_POR_BASE = 256;
+
+    private static final Comparator<Entrada> ORDEM = Comparator.comparingDouble(Entrada::peso)
+            .thenComparing(Entrada::postagemId);
+
+    private final long meiaVidaMillis;
+    private final int capacidade;
+
+    private long base;
+    private final Map<String, Pontuacao> pontuacoes = new HashMap<>();
+    private final TreeSet<Entrada> geral = new TreeSet<>(ORDEM);
+    private final Map<Integer, TreeSet<Entrada>> porCategoria = new HashMap<>();
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Cria um ranking vazio.
+     *
+     * @param meiaVidaMillis tempo, em milissegundos, para uma curtida perder metade do valor.
+     * @param capacidade     quantidade de postagens mantidas em cada lista.
+     * @param base           instante inicial, em milissegundos, usado como referência para os pesos.
+     */
+    public RankingTendencias(long meiaVidaMillis, int capacidade, long base) {
+        this.meiaVidaMillis = meiaVidaMillis;
+        this.capacidade = capacidade;
+        this.base = base;
+    }
+
+    private static final class Pontuacao {
+        private Integer categoriaId;
+        private double peso;
+
+        private Pontuacao(Integer categoriaId) {
+            this.categoriaId = categoriaId;
+        }
+    }
+
+    private record Entrada(String postagemId, double peso) {}
+
+    /**
+     * Registra uma curtida adicionada ou removida.
+     *
+     * @param postagemId  ID da postagem.
+     * @param categoriaId categoria da postagem.
+     * @param instante    instante, em milissegundos, em que a curtida foi feita.
+     * @param curtida     {@code true} se a curtida foi adicionada, {@code false} se foi removida.
+     */
+    public void registrar(String postagemId, Integer categoriaId, long instante, boolean curtida) {
+        trava.writeLock().lock();
+        try {
+            Pontuacao pontuacao = pontuacoes.get(postagemId);
+            if (pontuacao == null) {
+                if (!curtida) {
+                    return;
+                }
+                pontuacao = new Pontuacao(categoriaId);
+                pontuacoes.put(postagemId, pontuacao);
+            }
+
+            retirarDasListas(postagemId, pontuacao);
+            double peso = Math.pow(2, (double) (instante - base) / meiaVidaMillis);
+            // Curtidas anteriores à janela considerada não foram somadas; a pontuação nunca fica negativa
+            pontuacao.peso = Math.max(0, pontuacao.peso + (curtida ? peso : -peso));
+            pontuacao.categoriaId = categoriaId;
+            incluirNasListas(postagemId, pontuacao);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a categoria registrada para uma postagem.
+     *
+     * @param postagemId ID da postagem.
+     * @return ID da categoria, ou {@code null} se a postagem não estiver no ranking.
+     */
+    public Integer categoria(String postagemId) {
+        trava.readLock().lock();
+        try {
+            Pontuacao pontuacao = pontuacoes.get(postagemId);
+            return pontuacao != null ? pontuacao.categoriaId : null;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Altera a categoria de uma postagem do ranking, movendo-a para a lista da nova categoria.
+     *
+     * @param postagemId  ID da postagem.
+     * @param categoriaId nova categoria.
+     */
+    public void alterarCategoria(String postagemId, Integer categoriaId) {
+        trava.writeLock().lock();
+        try {
+            Pontuacao pontuacao = pontuacoes.get(postagemId);
+            if (pontuacao != null) {
+                retirarDasListas(postagemId, pontuacao);
+                pontuacao.categoriaId = categoriaId;
+                incluirNasListas(postagemId, pontuacao);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma postagem do ranking.
+     *
+     * @param postagemId ID da postagem.
+     */
+    public void remover(String postagemId) {
+        trava.writeLock().lock();
+        try {
+            Pontuacao pontuacao = pontuacoes.remove(postagemId);
+            if (pontuacao != null) {
+                retirarDasListas(postagemId, pontuacao);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as postagens em alta, da maior para a menor pontuação.
+     *
+     * @param categoriaId categoria, ou {@code null} para todas as categorias.
+     * @param limite      quantidade máxima de postagens.
+     * @return IDs das postagens.
+     */
+    public List<String> topo(Integer categoriaId, int limite) {
+        trava.readLock().lock();
+        try {
+            TreeSet<Entrada> lista = categoriaId == null ? geral : porCategoria.get(categoriaId);
+            if (lista == null) {
+                return List.of();
+            }
+            List<String> ids = new ArrayList<>(Math.min(limite, lista.size()));
+            Iterator<Entrada> iterador = lista.descendingIterator();
+            while (ids.size() < limite && iterador.hasNext()) {
+                ids.add(iterador.next().postagemId());
+            }
+            return ids;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os IDs de todas as postagens com pontuação.
+     *
+     * @return cópia dos IDs.
+     */
+    public List<String> postagens() {
+        trava.readLock().lock();
+        try {
+            return new ArrayList<>(pontuacoes.keySet());
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de postagens com pontuação.
+     *
+     * @return quantidade de postagens.
+     */
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return pontuacoes.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta as postagens com pontuação desprezível, atualiza a base dos pesos quando necessário
+     * e refaz as listas de melhores postagens a partir de todas as pontuações.
+     *
+     * @param agora instante atual, em milissegundos.
+     */
+    public void compactar(long agora) {
+        trava.writeLock().lock();
+        try {
+            double fatorAtual = Math.pow(2, (double) (base - agora) / meiaVidaMillis);
+            pontuacoes.values().removeIf(p -> p.peso * fatorAtual < PONTUACAO_MINIMA);
+
+            if (agora - base > MEIAS_VIDAS_POR_BASE * meiaVidaMillis) {
+                pontuacoes.values().forEach(p -> p.peso *= fatorAtual);
+                base = agora;
+            }
+
+            geral.clear();
+            porCategoria.clear();
+            pontuacoes.forEach(this::incluirNasListas);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Grava o ranking. Apenas as pontuações são gravadas; as listas são refeitas na leitura.
+     *
+     * @param saida destino dos dados.
+     * @throws IOException se ocorrer erro de escrita.
+     */
+    public void gravar(DataOutputStream saida) throws IOException {
+        trava.readLock().lock();
+        try {
+            saida.writeInt(FORMATO);
+            saida.writeLong(meiaVidaMillis);
+            saida.writeLong(base);
+            saida.writeInt(pontuacoes.size());
+            for (Map.Entry<String, Pontuacao> entrada : pontuacoes.entrySet()) {
+                saida.writeUTF(entrada.getKey());
+                saida.writeInt(entrada.getValue().categoriaId != null ? entrada.getValue().categoriaId : -1);
+                saida.writeDouble(entrada.getValue().peso);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lê um ranking gravado por {@link #gravar(DataOutputStream)}.
+     *
+     * @param entrada        origem dos dados.
+     * @param meiaVidaMillis meia-vida configurada; o ranking gravado com outra meia-vida é rejeitado.
+     * @param capacidade     quantidade de postagens mantidas em cada lista.
+     * @return ranking lido.
+     * @throws IOException se ocorrer erro de leitura, o formato não for reconhecido ou a meia-vida for diferente.
+     */
+    public static RankingTendencias ler(DataInputStream entrada, long meiaVidaMillis, int capacidade) throws IOException {
+        int formato = entrada.readInt();
+        if (formato != FORMATO) {
+            throw new IOException("Formato de ranking não suportado: " + formato);
+        }
+        long meiaVidaGravada = entrada.readLong();
+        if (meiaVidaGravada != meiaVidaMillis) {
+            throw new IOException("Ranking gravado com outra meia-vida: " + meiaVidaGravada + " ms");
+        }
+        RankingTendencias ranking = new RankingTendencias(meiaVidaMillis, capacidade, entrada.readLong());
+
+        int postagens = entrada.readInt();
+        for (int i = 0; i < postagens; i++) {
+            String postagemId = entrada.readUTF();
+            int categoriaId = entrada.readInt();
+            Pontuacao pontuacao = new Pontuacao(categoriaId >= 0 ? categoriaId : null);
+            pontuacao.peso = entrada.readDouble();
+            ranking.pontuacoes.put(postagemId, pontuacao);
+            ranking.incluirNasListas(postagemId, pontuacao);
+        }
+        return ranking;
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void incluirNasListas(String postagemId, Pontuacao pontuacao) {
+        if (pontuacao.peso <= 0) {
+            return;
+        }
+        Entrada entrada = new Entrada(postagemId, pontuacao.peso);
+        incluir(geral, entrada);
+        if (pontuacao.categoriaId != null) {
+            incluir(porCategoria.computeIfAbsent(pontuacao.categoriaId, c -> new TreeSet<>(ORDEM)), entrada);
+        }
+    }
+
+    private void retirarDasListas(String postagemId, Pontuacao pontuacao) {
+        Entrada entrada = new Entrada(postagemId, pontuacao.peso);
+        geral.remove(entrada);
+        if (pontuacao.categoriaId != null) {
+            TreeSet<Entrada> lista = porCategoria.get(pontuacao.categoriaId);
+            if (lista != null) {
+                lista.remove(entrada);
+            }
+        }
+    }
+
+    private void incluir(TreeSet<Entrada> lista, Entrada entrada) {
+        if (lista.size() < capacidade) {
+            lista.add(entrada);
+        } else if (ORDEM.compare(entrada, lista.first()) > 0) {
+            lista.add(entrada);
+            lista.pollFirst();
+        }
+    }
+}
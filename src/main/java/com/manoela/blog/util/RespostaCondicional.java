@@ -0,0 +1,48 @@
+package com.manoela.blog.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utilitário para respostas condicionais (ETag / Last-Modified) das páginas renderizadas.
+ * <p>
+ * O ETag é derivado da versão do conteúdo, do usuário logado e do idioma, pois as páginas exibem
+ * as curtidas do leitor e textos traduzidos. As respostas são privadas e sempre revalidadas,
+ * permitindo que o navegador reaproveite a página enquanto ela não mudar.
+ * </p>
+ */
+public class RespostaCondicional {
+
+    /**
+     * Verifica se o cliente já possui a versão atual da página e, em caso afirmativo,
+     * prepara a resposta 304 (Not Modified).
+     * <p>
+     * Páginas com mensagens de redirecionamento (flash attributes) são sempre renderizadas.
+     * </p>
+     *
+     * @param requisicao      requisição atual.
+     * @param versao          versão do conteúdo, em milissegundos desde a época.
+     * @param idUsuarioLogado ID do usuário autenticado, ou {@code null}.
+     * @return {@code true} se a página não foi modificada e não precisa ser renderizada.
+     */
+    public static boolean naoModificada(ServletWebRequest requisicao, long versao, String idUsuarioLogado) {
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(requisicao.getRequest());
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+
+        HttpServletResponse resposta = requisicao.getResponse();
+        if (resposta != null) {
+            resposta.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+
+        String etag = "W/\"" + Long.toHexString(versao) + "-"
+                + Integer.toHexString(Objects.hash(idUsuarioLogado, IdiomaUtil.getIdiomaAtual())) + "\"";
+        return requisicao.checkNotModified(etag, versao);
+    }
+}
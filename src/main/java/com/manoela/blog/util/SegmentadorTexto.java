@@ -0,0 +1,125 @@
+package com.manoela.blog.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitário para dividir textos em segmentos (parágrafos e frases) e remontá-los.
+ * <p>
+ * Cada segmento guarda o espaçamento que o seguia no texto original, de forma que
+ * {@link #juntar(List, List)} reproduza exatamente a estrutura de parágrafos e quebras de linha.
+ * </p>
+ */
+public class SegmentadorTexto {
+
+    /**
+     * Fim de frase: pontuação final seguida de espaços, ou qualquer sequência de quebras de linha.
+     */
+    private static final Pattern SEPARADOR = Pattern.compile("(?<=[.!?…])[ \\t]+|\\s*\\R\\s*");
+
+    /**
+     * Trecho de texto e o espaçamento que o segue no texto original.
+     *
+     * @param texto     conteúdo do segmento, sem espaços nas extremidades.
+     * @param separador espaçamento (espaços ou quebras de linha) após o segmento.
+     */
+    public record Segmento(String texto, String separador) {}
+
+    /**
+     * Divide um texto em parágrafos e frases.
+     *
+     * @param texto texto a ser dividido.
+     * @return lista de segmentos na ordem em que aparecem no texto.
+     */
+    public static List<Segmento> dividir(String texto) {
+        List<Segmento> segmentos = new ArrayList<>();
+        Matcher matcher = SEPARADOR.matcher(texto);
+        int inicio = 0;
+
+        while (matcher.find()) {
+            if (matcher.start() > inicio) {
+                segmentos.add(new Segmento(texto.substring(inicio, matcher.start()), matcher.group()));
+            } else if (!segmentos.isEmpty()) {
+                Segmento anterior = segmentos.remove(segmentos.size() - 1);
+                segmentos.add(new Segmento(anterior.texto(), anterior.separador() + matcher.group()));
+            } else {
+                segmentos.add(new Segmento("", matcher.group()));
+            }
+            inicio = matcher.end();
+        }
+
+        if (inicio < texto.length()) {
+            segmentos.add(new Segmento(texto.substring(inicio), ""));
+        }
+        return segmentos;
+    }
+
+    /**
+     * Divide um texto em parágrafos e frases, dividindo também as frases maiores que o limite informado,
+     * nos espaços entre palavras ou, se uma palavra sozinha exceder o limite, na posição do limite.
+     *
+     * @param texto         texto a ser dividido.
+     * @param maxCaracteres tamanho máximo de cada segmento.
+     * @return lista de segmentos na ordem em que aparecem no texto, nenhum maior que o limite.
+     */
+    public static List<Segmento> dividir(String texto, int maxCaracteres) {
+        List<Segmento> segmentos = new ArrayList<>();
+        for (Segmento segmento : dividir(texto)) {
+            if (segmento.texto().length() <= maxCaracteres) {
+                segmentos.add(segmento);
+            } else {
+                dividirFrase(segmento, maxCaracteres, segmentos);
+            }
+        }
+        return segmentos;
+    }
+
+    /**
+     * Remonta um texto a partir dos segmentos originais e dos seus textos traduzidos.
+     *
+     * @param segmentos  segmentos do texto original.
+     * @param traduzidos texto traduzido de cada segmento, na mesma ordem.
+     * @return texto remontado com o espaçamento original.
+     */
+    public static String juntar(List<Segmento> segmentos, List<String> traduzidos) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < segmentos.size(); i++) {
+            texto.append(traduzidos.get(i)).append(segmentos.get(i).separador());
+        }
+        return texto.toString();
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private static void dividirFrase(Segmento frase, int maxCaracteres, List<Segmento> segmentos) {
+        String texto = frase.texto();
+        int inicio = 0;
+
+        while (texto.length() - inicio > maxCaracteres) {
+            int limite = inicio + maxCaracteres;
+            int corte = limite;
+            while (corte > inicio && !Character.isWhitespace(texto.charAt(corte))) {
+                corte--;
+            }
+
+            if (corte > inicio) {
+                int fimEspacos = corte;
+                while (fimEspacos < texto.length() && Character.isWhitespace(texto.charAt(fimEspacos))) {
+                    fimEspacos++;
+                }
+                segmentos.add(new Segmento(texto.substring(inicio, corte), texto.substring(corte, fimEspacos)));
+                inicio = fimEspacos;
+            } else {
+                // Palavra maior que o limite: corta no limite, sem separar um par de surrogates
+                if (Character.isHighSurrogate(texto.charAt(limite - 1))) {
+                    limite--;
+                }
+                segmentos.add(new Segmento(texto.substring(inicio, limite), ""));
+                inicio = limite;
+            }
+        }
+        segmentos.add(new Segmento(texto.substring(inicio), frase.separador()));
+    }
+}
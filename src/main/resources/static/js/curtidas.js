@@ -1,8 +1,10 @@
 async function toggleCurtida(button) {
     const postId = button.getAttribute('data-post-id');
+    // Envia o estado desejado, para que cliques repetidos antes da resposta não desfaçam a curtida
+    const curtir = !button.querySelector('i').classList.contains('bi-heart-fill');
     try {
-        const response = await fetch(`/post/${postId}/curtir`, {
-            method: 'POST',
+        const response = await fetch(`/post/${postId}/curtida`, {
+            method: curtir ? 'PUT' : 'DELETE',
             headers: {
                 'Content-Type': 'application/json',
                 'X-Requested-With': 'XMLHttpRequest'
@@ -0,0 +1,73 @@
+// Rolagem infinita do feed: ao chegar ao fim da página, busca as próximas postagens em /api/feed
+(() => {
+    const TAMANHO_PAGINA = 20;
+
+    // O cartão vem renderizado pelo servidor, com o mesmo fragmento usado na página do feed
+    function criarCartao(postagem) {
+        const modelo = document.createElement('template');
+        modelo.innerHTML = postagem.html.trim();
+        const cartao = modelo.content.firstElementChild;
+        cartao.querySelectorAll('button[data-post-id]').forEach(botao =>
+            botao.addEventListener('click', () => toggleCurtida(botao)));
+        return cartao;
+    }
+
+    document.addEventListener('DOMContentLoaded', () => {
+        const proxima = document.getElementById('feed-proxima');
+        const lista = document.getElementById('feed-postagens');
+        if (!proxima || !lista || !('IntersectionObserver' in window)) {
+            return;
+        }
+
+        let cursor = proxima.getAttribute('data-cursor');
+        const categoria = proxima.getAttribute('data-categoria');
+        let carregando = false;
+
+        const observador = new IntersectionObserver(async entradas => {
+            if (!entradas.some(e => e.isIntersecting) || carregando || !cursor) {
+                return;
+            }
+            carregando = true;
+            try {
+                const parametros = new URLSearchParams({ cursor, limite: TAMANHO_PAGINA });
+                if (categoria) {
+                    parametros.set('categoria', categoria);
+                }
+                const response = await fetch('/api/feed?' + parametros, {
+                    headers: { 'Accept': 'application/json' },
+                    credentials: 'same-origin'
+                });
+                if (!response.ok) {
+                    // Mantém o link "Carregar mais" como alternativa
+                    observador.disconnect();
+                    return;
+                }
+
+                const pagina = await response.json();
+                pagina.postagens.forEach(postagem => lista.appendChild(criarCartao(postagem)));
+                cursor = pagina.proximoCursor;
+                if (!cursor) {
+                    observador.disconnect();
+                    proxima.remove();
+                    return;
+                }
+
+                const parametrosLink = new URLSearchParams({ cursor });
+                if (categoria) {
+                    parametrosLink.set('categoria', categoria);
+                }
+                proxima.querySelector('a').href = '/post/feed?' + parametrosLink;
+
+                // Observa novamente, caso o fim da página continue visível após o carregamento
+                observador.unobserve(proxima);
+                observador.observe(proxima);
+            } catch (error) {
+                observador.disconnect();
+            } finally {
+                carregando = false;
+            }
+        }, { rootMargin: '400px' });
+
+        observador.observe(proxima);
+    });
+})();
@@ -0,0 +1,236 @@
+package com.manoela.blog.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor embutido que imita o endpoint {@code /translate} da API LibreTranslate.
+ * <p>
+ * Aceita o mesmo contrato usado pelo {@link LibreTranslateClient}, com {@code q} como texto único ou lista,
+ * e devolve o texto prefixado pelo idioma alvo (ex: {@code "[en] Olá"}). A latência de cada resposta,
+ * a taxa de erros e a quantidade máxima de requisições por segundo são configuráveis, permitindo
+ * medir o caminho de escrita das postagens sem uma instância real do LibreTranslate.
+ * </p>
+ */
+public class LibreTranslateStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+
+    private final Latencia latencia;
+    private final double taxaErro;
+    private final int limitePorSegundo;
+
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+
+    private long janelaAtual;
+    private int requisicoesNaJanela;
+
+    private LibreTranslateStub(Latencia latencia, double taxaErro, int limitePorSegundo) throws IOException {
+        this.latencia = latencia;
+        this.taxaErro = taxaErro;
+        this.limitePorSegundo = limitePorSegundo;
+
+        this.executor = Executors.newCachedThreadPool();
+        this.servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.servidor.createContext("/translate", this::atender);
+        this.servidor.setExecutor(executor);
+        this.servidor.start();
+    }
+
+    /**
+     * Cria um construtor do servidor, sem latência, sem erros e sem limite de requisições.
+     *
+     * @return construtor do servidor.
+     */
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    /**
+     * Retorna a URL base do servidor, no formato esperado pela propriedade {@code libretranslate.url}.
+     *
+     * @return URL base do servidor.
+     */
+    public String getUrl() {
+        return "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public long getErros() {
+        return erros.get();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void atender(HttpExchange troca) throws IOException {
+        try {
+            requisicoes.incrementAndGet();
+
+            if (!"POST".equals(troca.getRequestMethod())) {
+                responder(troca, 405, Map.of("error", "Método não suportado"));
+                return;
+            }
+            if (!reservarVaga()) {
+                rejeitadas.incrementAndGet();
+                responder(troca, 429, Map.of("error", "Limite de requisições excedido"));
+                return;
+            }
+
+            dormir(latencia.amostrar());
+
+            if (ThreadLocalRandom.current().nextDouble() < taxaErro) {
+                erros.incrementAndGet();
+                responder(troca, 500, Map.of("error", "Erro simulado"));
+                return;
+            }
+
+            JsonNode corpo = objectMapper.readTree(troca.getRequestBody());
+            String alvo = corpo.path("target").asText();
+            JsonNode q = corpo.path("q");
+
+            if (q.isArray()) {
+                List<String> traduzidos = new ArrayList<>(q.size());
+                q.forEach(texto -> traduzidos.add(traduzir(texto.asText(), alvo)));
+                responder(troca, 200, Map.of("translatedText", traduzidos));
+            } else {
+                responder(troca, 200, Map.of("translatedText", traduzir(q.asText(), alvo)));
+            }
+        } finally {
+            troca.close();
+        }
+    }
+
+    private synchronized boolean reservarVaga() {
+        if (limitePorSegundo <= 0) {
+            return true;
+        }
+        long segundo = System.nanoTime() / 1_000_000_000L;
+        if (segundo != janelaAtual) {
+            janelaAtual = segundo;
+            requisicoesNaJanela = 0;
+        }
+        return ++requisicoesNaJanela <= limitePorSegundo;
+    }
+
+    private void responder(HttpExchange troca, int status, Object corpo) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(corpo);
+        troca.getResponseHeaders().set("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    private static String traduzir(String texto, String alvo) {
+        return "[" + alvo + "] " + texto;
+    }
+
+    private static void dormir(long milissegundos) {
+        if (milissegundos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(milissegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Distribuição do tempo de resposta do servidor, em milissegundos.
+     */
+    @FunctionalInterface
+    public interface Latencia {
+
+        long amostrar();
+
+        /**
+         * Latência constante.
+         */
+        static Latencia fixa(long milissegundos) {
+            return () -> milissegundos;
+        }
+
+        /**
+         * Latência distribuída uniformemente entre os limites informados.
+         */
+        static Latencia uniforme(long minimo, long maximo) {
+            return () -> ThreadLocalRandom.current().nextLong(minimo, maximo + 1);
+        }
+
+        /**
+         * Latência log-normal, com cauda longa, típica de serviços de tradução sob carga.
+         *
+         * @param mediana mediana da latência, em milissegundos.
+         * @param sigma   dispersão; valores maiores geram caudas mais longas.
+         */
+        static Latencia logNormal(long mediana, double sigma) {
+            return () -> Math.round(mediana * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+
+    /**
+     * Construtor de {@link LibreTranslateStub}.
+     */
+    public static class Construtor {
+
+        private Latencia latencia = Latencia.fixa(0);
+        private double taxaErro;
+        private int limitePorSegundo;
+
+        public Construtor latencia(Latencia latencia) {
+            this.latencia = latencia;
+            return this;
+        }
+
+        /**
+         * @param taxaErro fração das requisições respondidas com erro 500, entre 0 e 1.
+         */
+        public Construtor taxaErro(double taxaErro) {
+            this.taxaErro = taxaErro;
+            return this;
+        }
+
+        /**
+         * @param limitePorSegundo requisições aceitas por segundo; as excedentes recebem 429. Zero desativa o limite.
+         */
+        public Construtor limitePorSegundo(int limitePorSegundo) {
+            this.limitePorSegundo = limitePorSegundo;
+            return this;
+        }
+
+        public LibreTranslateStub iniciar() throws IOException {
+            return new LibreTranslateStub(latencia, taxaErro, limitePorSegundo);
+        }
+    }
+}
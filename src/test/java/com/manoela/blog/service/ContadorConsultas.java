@@ -0,0 +1,38 @@
+package com.manoela.blog.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual.
+ * <p>
+ * Registrado com {@code hibernate.session_factory.statement_inspector}. A contagem é por thread,
+ * de forma que as tarefas agendadas e os listeners executados em outras threads não interfiram
+ * nas verificações do teste.
+ * </p>
+ */
+public class ContadorConsultas implements StatementInspector {
+
+    private static final ThreadLocal<int[]> QUANTIDADE = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        QUANTIDADE.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Zera a contagem da thread atual.
+     */
+    public static void zerar() {
+        QUANTIDADE.get()[0] = 0;
+    }
+
+    /**
+     * Retorna a quantidade de comandos preparados na thread atual desde a última chamada a {@link #zerar()}.
+     *
+     * @return quantidade de comandos SQL.
+     */
+    public static int quantidade() {
+        return QUANTIDADE.get()[0];
+    }
+}
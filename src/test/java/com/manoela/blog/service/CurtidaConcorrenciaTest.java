@@ -0,0 +1,171 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.postagem.Postagem;
+import com.manoela.blog.domain.usuario.Usuario;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.CurtidaRepository;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de estresse das curtidas simultâneas.
+ * <p>
+ * Vários leitores curtem e descurtem a mesma postagem ao mesmo tempo, repetindo cada pedido como em
+ * cliques duplos, enquanto outros leem o total de curtidas. O teste verifica que nenhum pedido falha, que
+ * nenhum total lido sai do intervalo possível e que nenhuma curtida é perdida ou duplicada: a tabela de
+ * curtidas, a coluna {@code like_count} e o total lido pelo serviço devem concordar.
+ * Usa o banco configurado em application.properties.
+ * </p>
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code estresse.leitores}, {@code estresse.repeticoes}.
+ * </p>
+ */
+@SpringBootTest(properties = "feed.curtidas.intervalo-reconciliacao-ms=3600000")
+class CurtidaConcorrenciaTest {
+
+    private static final int LEITORES = Integer.getInteger("estresse.leitores", 20);
+    private static final int REPETICOES = Integer.getInteger("estresse.repeticoes", 10);
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CurtidaService curtidaService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private PostagemRepository postagemRepository;
+
+    @Autowired
+    private CurtidaRepository curtidaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Usuario> usuarios = new ArrayList<>();
+    private String postagemId;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void criarPostagem() {
+        Usuario autor = criarUsuario("Autor do estresse");
+        for (int i = 0; i < LEITORES; i++) {
+            criarUsuario("Leitor do estresse " + i);
+        }
+
+        Postagem postagem = new Postagem();
+        postagem.setUsuario(autor);
+        postagem.setCategoria(categoriaService.buscarPorId(1));
+        postagem.setIdiomaOrigem("pt-BR");
+        postagemId = postagemRepository.save(postagem).getId();
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void removerUsuarios() {
+        executor.shutdownNow();
+        // A postagem e as curtidas são removidas em cascata pelo banco
+        usuarios.forEach(u -> usuarioRepository.deleteById(u.getId()));
+        usuarios.clear();
+        eventPublisher.publishEvent(new PostagemAlteradaEvent(postagemId, true));
+    }
+
+    @Test
+    void curtidasRepetidasContamUmaVez() throws Exception {
+        executarEmParalelo(leitores(), leitor -> curtidaService.curtir(leitor, postagemId));
+        verificarTotal(LEITORES);
+
+        List<String> metade = leitores().subList(0, LEITORES / 2);
+        executarEmParalelo(metade, leitor -> curtidaService.descurtir(leitor, postagemId));
+        verificarTotal(LEITORES - LEITORES / 2);
+    }
+
+    @Test
+    void curtidasEDescurtidasMisturadasNaoDivergem() throws Exception {
+        executarEmParalelo(leitores(), leitor -> ThreadLocalRandom.current().nextBoolean()
+                ? curtidaService.curtir(leitor, postagemId)
+                : curtidaService.descurtir(leitor, postagemId));
+
+        long curtidas = leitores().stream()
+                .filter(leitor -> curtidaRepository.existsByPostagemIdAndUsuarioId(postagemId, leitor))
+                .count();
+        verificarTotal(curtidas);
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private interface Pedido {
+        boolean executar(String leitor);
+    }
+
+    /**
+     * Envia {@code REPETICOES} vezes o pedido de cada leitor, intercalando os leitores e leituras do total
+     * de curtidas, e falha se algum pedido falhar ou algum total lido sair do intervalo possível.
+     */
+    private void executarEmParalelo(List<String> leitores, Pedido pedido) throws Exception {
+        List<Callable<Boolean>> tarefas = new ArrayList<>();
+        for (int i = 0; i < REPETICOES; i++) {
+            leitores.forEach(leitor -> {
+                tarefas.add(() -> pedido.executar(leitor));
+                tarefas.add(this::lerTotal);
+            });
+        }
+        for (Future<Boolean> resultado : executor.invokeAll(tarefas)) {
+            resultado.get();
+        }
+    }
+
+    private boolean lerTotal() {
+        int total = curtidaService.totalCurtidas(postagemId);
+        assertTrue(total >= 0 && total <= LEITORES, "total lido durante as curtidas: " + total);
+        return true;
+    }
+
+    private void verificarTotal(long esperado) {
+        long linhas = leitores().stream()
+                .filter(leitor -> curtidaRepository.existsByPostagemIdAndUsuarioId(postagemId, leitor))
+                .count();
+        Object[] coluna = postagemRepository.buscarTotaisCurtidas(List.of(postagemId)).get(0);
+
+        assertEquals(esperado, linhas, "curtidas gravadas");
+        assertEquals(esperado, ((Long) coluna[1]).longValue(), "like_count");
+        assertEquals(esperado, curtidaService.totalCurtidas(postagemId), "totalCurtidas");
+    }
+
+    private List<String> leitores() {
+        return usuarios.subList(1, usuarios.size()).stream().map(Usuario::getId).toList();
+    }
+
+    private Usuario criarUsuario(String nome) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail("curtidas-" + UUID.randomUUID() + "@teste.local");
+        usuario.setSenha("estresse");
+        usuario.setIdioma("pt-BR");
+        usuario = usuarioRepository.save(usuario);
+        usuarios.add(usuario);
+        return usuario;
+    }
+}
@@ -0,0 +1,153 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.postagem.Postagem;
+import com.manoela.blog.domain.usuario.Usuario;
+import com.manoela.blog.dto.PaginaFeedDTO;
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.event.PostagemAlteradaEvent;
+import com.manoela.blog.repository.PostagemRepository;
+import com.manoela.blog.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Garante que as listagens de postagens sejam montadas com um único comando SQL,
+ * independentemente da quantidade de postagens, autores e categorias na página, e que o feed
+ * mantido em memória seja servido sem consultar o banco para leitores anônimos.
+ * <p>
+ * Apenas os comandos preparados na thread do teste são contados ({@link ContadorConsultas}), para que
+ * as consultas das tarefas agendadas não entrem na contagem.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.manoela.blog.service.ContadorConsultas",
+        "traducao.fila.intervalo-ms=3600000"
+})
+class FeedConsultasTest {
+
+    private static final int POSTAGENS = 5;
+
+    @Autowired
+    private PostagemService postagemService;
+
+    @Autowired
+    private TraducaoService traducaoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private PostagemRepository postagemRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Usuario autor;
+    private final List<String> postagens = new ArrayList<>();
+
+    @BeforeEach
+    void criarPostagens() {
+        LocaleContextHolder.setLocale(Locale.forLanguageTag("pt-BR"));
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Autor do feed");
+        usuario.setEmail("feed-" + UUID.randomUUID() + "@teste.local");
+        usuario.setSenha("feed");
+        usuario.setIdioma("pt-BR");
+        autor = usuarioRepository.save(usuario);
+
+        for (int i = 0; i < POSTAGENS; i++) {
+            Postagem postagem = new Postagem();
+            postagem.setUsuario(autor);
+            postagem.setCategoria(categoriaService.buscarPorId(1 + i % 2));
+            postagem.setIdiomaOrigem("pt-BR");
+            postagem = postagemRepository.save(postagem);
+            traducaoService.salvarTraducao(postagem, "pt-BR", "Título " + i, "Conteúdo da postagem " + i + ".");
+            eventPublisher.publishEvent(new PostagemAlteradaEvent(postagem.getId(), false));
+            postagens.add(postagem.getId());
+        }
+
+        // Carrega o feed em memória antes da medição
+        postagemService.buscarPostagens(null, null);
+
+        ContadorConsultas.zerar();
+    }
+
+    @AfterEach
+    void removerAutor() {
+        // As postagens e traduções são removidas em cascata pelo banco
+        usuarioRepository.deleteById(autor.getId());
+        postagens.forEach(id -> eventPublisher.publishEvent(new PostagemAlteradaEvent(id, true)));
+        postagens.clear();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void feedUsaUmaConsulta() {
+        PaginaFeedDTO pagina = postagemService.buscarPostagens(autor.getId(), null);
+
+        // Apenas as curtidas do usuário logado são consultadas
+        assertEquals(1, ContadorConsultas.quantidade());
+        verificarPostagensDoAutor(pagina);
+    }
+
+    @Test
+    void feedAnonimoNaoConsultaBanco() {
+        PaginaFeedDTO pagina = postagemService.buscarPostagens(null, null);
+
+        assertEquals(0, ContadorConsultas.quantidade());
+        verificarPostagensDoAutor(pagina);
+    }
+
+    @Test
+    void feedPorCategoriaUsaUmaConsulta() {
+        PaginaFeedDTO pagina = postagemService.buscarPostagensPorCategoria(1, autor.getId(), null);
+
+        assertEquals(1, ContadorConsultas.quantidade());
+        pagina.getPostagens().stream()
+                .filter(p -> autor.getId().equals(p.getUsuarioId()))
+                .forEach(this::verificarResumo);
+    }
+
+    @Test
+    void perfilUsaUmaConsulta() {
+        List<PostagemResumoDTO> postagens = postagemService.buscarPostagensDoUsuario(autor.getId(), "pt-BR", null);
+
+        assertEquals(1, ContadorConsultas.quantidade());
+        assertEquals(POSTAGENS, postagens.size());
+        postagens.forEach(this::verificarResumo);
+    }
+
+    private void verificarPostagensDoAutor(PaginaFeedDTO pagina) {
+        List<PostagemResumoDTO> doAutor = pagina.getPostagens().stream()
+                .filter(p -> autor.getId().equals(p.getUsuarioId()))
+                .toList();
+        assertEquals(POSTAGENS, doAutor.size());
+        doAutor.forEach(this::verificarResumo);
+    }
+
+    private void verificarResumo(PostagemResumoDTO resumo) {
+        assertNotNull(resumo.getTitulo());
+        assertNotNull(resumo.getResumo());
+        assertNotNull(resumo.getCategoria());
+        assertEquals(0L, resumo.getTotalCurtidas());
+        assertFalse(resumo.getCurtidoPeloUsuario());
+    }
+}
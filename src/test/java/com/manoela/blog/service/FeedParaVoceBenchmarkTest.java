@@ -0,0 +1,129 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.domain.usuario.Usuario;
+import com.manoela.blog.dto.PaginaFeedDTO;
+import com.manoela.blog.dto.PostagemResumoDTO;
+import com.manoela.blog.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark do feed "para você" em comparação com o feed cronológico.
+ * <p>
+ * Um leitor curte postagens de uma categoria e ambos os feeds são lidos repetidamente, informando a
+ * latência p50 e p99 de cada um. Verifica que a ordenação por afinidade acrescenta poucos milissegundos
+ * ao feed cronológico. Executado apenas com {@code -Dbenchmark=true}; usa o banco configurado em
+ * application.properties.
+ * </p>
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code benchmark.leituras}.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FeedParaVoceBenchmarkTest {
+
+    private static final int LEITURAS = Integer.getInteger("benchmark.leituras", 2_000);
+    private static final int AQUECIMENTO = 200;
+    private static final int CURTIDAS = 5;
+    private static final double ACRESCIMO_MAXIMO_MS = 5;
+
+    @Autowired
+    private PostagemService postagemService;
+
+    @Autowired
+    private CurtidaService curtidaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario leitor;
+    private Integer categoriaCurtida;
+    private final List<String> curtidas = new ArrayList<>();
+
+    @BeforeEach
+    void criarLeitor() {
+        LocaleContextHolder.setLocale(Locale.forLanguageTag("pt-BR"));
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitor do benchmark");
+        usuario.setEmail("para-voce-" + UUID.randomUUID() + "@teste.local");
+        usuario.setSenha("benchmark");
+        usuario.setIdioma("pt-BR");
+        leitor = usuarioRepository.save(usuario);
+
+        // Curte as postagens mais antigas de uma categoria, para que a afinidade altere a ordem cronológica
+        List<PostagemResumoDTO> recentes = postagemService.buscarPostagens(null, null).getPostagens();
+        assertFalse(recentes.isEmpty(), "O benchmark precisa de postagens no banco");
+        categoriaCurtida = recentes.get(recentes.size() - 1).getCategoriaId();
+        recentes.stream()
+                .filter(p -> categoriaCurtida.equals(p.getCategoriaId()))
+                .limit(CURTIDAS)
+                .forEach(p -> {
+                    curtidaService.curtir(leitor.getId(), p.getId());
+                    curtidas.add(p.getId());
+                });
+    }
+
+    @AfterEach
+    void removerLeitor() {
+        // Descurtidas pelo serviço, para que o total de curtidas das postagens volte ao valor anterior
+        curtidas.forEach(postagemId -> curtidaService.descurtir(leitor.getId(), postagemId));
+        curtidas.clear();
+        usuarioRepository.deleteById(leitor.getId());
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void paraVoceComparadoAoCronologico() {
+        long[] cronologico = medir(() -> postagemService.buscarPostagens(leitor.getId(), null));
+        long[] paraVoce = medir(() -> postagemService.buscarParaVoce(leitor.getId()));
+
+        double p50Cronologico = percentil(cronologico, 0.50);
+        double p50ParaVoce = percentil(paraVoce, 0.50);
+
+        System.out.printf("%n=== Benchmark do feed \"para você\": %d leituras ===%n", LEITURAS);
+        System.out.printf("%-12s p50 %7.3f ms   p99 %7.3f ms%n", "cronológico", p50Cronologico, percentil(cronologico, 0.99));
+        System.out.printf("%-12s p50 %7.3f ms   p99 %7.3f ms%n", "para você", p50ParaVoce, percentil(paraVoce, 0.99));
+
+        PaginaFeedDTO pagina = postagemService.buscarParaVoce(leitor.getId());
+        assertTrue(pagina.getPostagens().stream().anyMatch(p -> categoriaCurtida.equals(p.getCategoriaId())));
+        assertTrue(p50ParaVoce - p50Cronologico < ACRESCIMO_MAXIMO_MS,
+                "A ordenação por afinidade acrescentou " + (p50ParaVoce - p50Cronologico) + " ms");
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private static long[] medir(Supplier<PaginaFeedDTO> leitura) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            leitura.get();
+        }
+        long[] latencias = new long[LEITURAS];
+        for (int i = 0; i < LEITURAS; i++) {
+            long antes = System.nanoTime();
+            leitura.get();
+            latencias[i] = System.nanoTime() - antes;
+        }
+        Arrays.sort(latencias);
+        return latencias;
+    }
+
+    private static double percentil(long[] ordenadas, double fracao) {
+        return ordenadas[Math.min(ordenadas.length - 1, (int) (ordenadas.length * fracao))] / 1e6;
+    }
+}
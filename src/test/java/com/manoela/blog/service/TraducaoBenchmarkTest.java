@@ -0,0 +1,255 @@
+package com.manoela.blog.service;
+
+import com.manoela.blog.client.LibreTranslateStub;
+import com.manoela.blog.client.LibreTranslateStub.Latencia;
+import com.manoela.blog.domain.postagem.PostagemTraducao;
+import com.manoela.blog.domain.traducao.ModoTraducao;
+import com.manoela.blog.domain.traducao.StatusTarefaTraducao;
+import com.manoela.blog.domain.usuario.Usuario;
+import com.manoela.blog.dto.PostagemCreateDTO;
+import com.manoela.blog.dto.PostagemEditDTO;
+import com.manoela.blog.repository.TarefaTraducaoRepository;
+import com.manoela.blog.repository.UsuarioRepository;
+import com.manoela.blog.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark do caminho de escrita das postagens contra o {@link LibreTranslateStub}.
+ * <p>
+ * Mede criação e edição de postagens em cada {@link ModoTraducao}, informando postagens por segundo
+ * e latência p99, e o tempo até todas as traduções ficarem prontas. Executado apenas com
+ * {@code -Dbenchmark=true}; usa o banco configurado em application.properties.
+ * </p>
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code benchmark.postagens}, {@code benchmark.concorrencia},
+ * {@code benchmark.latencia-ms} (mediana log-normal), {@code benchmark.taxa-erro} e
+ * {@code benchmark.limite-rps}.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TraducaoBenchmarkTest {
+
+    private static final int POSTAGENS = Integer.getInteger("benchmark.postagens", 200);
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.concorrencia", 8);
+    private static final List<String> IDIOMAS_ALVO = List.of("en", "es");
+    private static final long PRAZO_TRADUCOES_MS = 300_000;
+
+    private static LibreTranslateStub stub;
+
+    @Autowired
+    private PostagemService postagemService;
+
+    @Autowired
+    private TraducaoService traducaoService;
+
+    @Autowired
+    private TraducaoSobDemandaService traducaoSobDemandaService;
+
+    @Autowired
+    private TarefaTraducaoRepository tarefaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario autor;
+
+    @DynamicPropertySource
+    static void configurarStub(DynamicPropertyRegistry registry) throws IOException {
+        stub = LibreTranslateStub.construtor()
+                .latencia(Latencia.logNormal(Long.getLong("benchmark.latencia-ms", 80), 0.6))
+                .taxaErro(Double.parseDouble(System.getProperty("benchmark.taxa-erro", "0.02")))
+                .limitePorSegundo(Integer.getInteger("benchmark.limite-rps", 0))
+                .iniciar();
+
+        registry.add("libretranslate.url", stub::getUrl);
+        registry.add("traducao.fila.intervalo-ms", () -> "200");
+        registry.add("traducao.fila.espera-base-ms", () -> "200");
+    }
+
+    @AfterAll
+    static void encerrarStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void criarAutor() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("benchmark-" + UUID.randomUUID() + "@teste.local");
+        usuario.setSenha("benchmark");
+        usuario.setIdioma("pt-BR");
+        autor = usuarioRepository.save(usuario);
+    }
+
+    @AfterEach
+    void removerAutor() {
+        // As postagens, traduções e tarefas são removidas em cascata pelo banco
+        usuarioRepository.deleteById(autor.getId());
+    }
+
+    @Test
+    void modoAntecipado() throws Exception {
+        executar(ModoTraducao.ANTECIPADO);
+    }
+
+    @Test
+    void modoSobDemanda() throws Exception {
+        executar(ModoTraducao.SOB_DEMANDA);
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private void executar(ModoTraducao modo) throws Exception {
+        ReflectionTestUtils.setField(postagemService, "modoTraducao", modo);
+        ReflectionTestUtils.setField(traducaoSobDemandaService, "modo", modo);
+        long requisicoesAntes = stub.getRequisicoes();
+
+        String[] ids = new String[POSTAGENS];
+        Medicao criacao = medir(i -> ids[i] = postagemService.criarPostagem(novaPostagem(i), autor).getId());
+        Medicao edicao = medir(i -> postagemService.salvarEdicao(edicao(ids[i], i), autor));
+
+        long inicio = System.nanoTime();
+        int pendentes = modo == ModoTraducao.ANTECIPADO
+                ? aguardarFila()
+                : lerAteTraduzir(Arrays.asList(ids));
+        double segundosTraducao = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("%n=== Benchmark de tradução: %s ===%n", modo);
+        criacao.imprimir("criarPostagem");
+        edicao.imprimir("salvarEdicao");
+        System.out.printf("traduções prontas em %.2f s (%d pendentes), %d chamadas ao LibreTranslate%n",
+                segundosTraducao, pendentes, stub.getRequisicoes() - requisicoesAntes);
+
+        assertEquals(0, pendentes, "Traduções não concluídas dentro do prazo");
+    }
+
+    private Medicao medir(Operacao operacao) throws Exception {
+        long[] latencias = new long[POSTAGENS];
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENCIA);
+        CustomUserDetails userDetails = new CustomUserDetails(autor);
+
+        long inicio = System.nanoTime();
+        try {
+            List<Future<?>> execucoes = new ArrayList<>(POSTAGENS);
+            for (int i = 0; i < POSTAGENS; i++) {
+                int indice = i;
+                execucoes.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                    long antes = System.nanoTime();
+                    try {
+                        operacao.executar(indice);
+                    } finally {
+                        latencias[indice] = System.nanoTime() - antes;
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new Medicao(latencias, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Aguarda a fila de traduções esvaziar e retorna a quantidade de tarefas que restaram.
+     */
+    private int aguardarFila() throws InterruptedException {
+        long limite = System.currentTimeMillis() + PRAZO_TRADUCOES_MS;
+        long restantes;
+        do {
+            Thread.sleep(100);
+            restantes = tarefaRepository.countByStatus(StatusTarefaTraducao.PENDENTE)
+                    + tarefaRepository.countByStatus(StatusTarefaTraducao.EM_PROCESSAMENTO);
+        } while (restantes > 0 && System.currentTimeMillis() < limite);
+        return (int) restantes;
+    }
+
+    /**
+     * Lê as postagens em cada idioma, como o feed faria, até não restarem traduções provisórias.
+     */
+    private int lerAteTraduzir(List<String> ids) throws InterruptedException {
+        long limite = System.currentTimeMillis() + PRAZO_TRADUCOES_MS;
+        int provisorias;
+        do {
+            provisorias = 0;
+            for (String idioma : IDIOMAS_ALVO) {
+                provisorias += (int) traducaoService.buscarPorIdiomaEIdsPostagem(idioma, ids).stream()
+                        .filter(PostagemTraducao::isProvisoria)
+                        .count();
+            }
+            if (provisorias > 0) {
+                Thread.sleep(100);
+            }
+        } while (provisorias > 0 && System.currentTimeMillis() < limite);
+        return provisorias;
+    }
+
+    private static PostagemCreateDTO novaPostagem(int indice) {
+        PostagemCreateDTO dto = new PostagemCreateDTO();
+        dto.setCategoriaId(1);
+        dto.setTitulo("Postagem de benchmark " + indice);
+        dto.setConteudo(conteudo(indice, "Texto original."));
+        return dto;
+    }
+
+    private static PostagemEditDTO edicao(String id, int indice) {
+        PostagemEditDTO dto = new PostagemEditDTO();
+        dto.setId(id);
+        dto.setCategoriaId(1);
+        dto.setTitulo("Postagem de benchmark " + indice);
+        dto.setConteudo(conteudo(indice, "Texto editado."));
+        return dto;
+    }
+
+    private static String conteudo(int indice, String ultimaFrase) {
+        return "Primeira frase da postagem " + indice + ". Segunda frase com mais detalhes.\n\n"
+                + "Um novo parágrafo sobre o assunto " + indice + ". " + ultimaFrase;
+    }
+
+    @FunctionalInterface
+    private interface Operacao {
+        void executar(int indice) throws Exception;
+    }
+
+    private record Medicao(long[] latencias, long duracaoTotal) {
+
+        void imprimir(String operacao) {
+            long[] ordenadas = latencias.clone();
+            Arrays.sort(ordenadas);
+            double p50 = ordenadas[(int) (ordenadas.length * 0.50)] / 1e6;
+            double p99 = ordenadas[Math.min(ordenadas.length - 1, (int) (ordenadas.length * 0.99))] / 1e6;
+            double porSegundo = latencias.length / (duracaoTotal / 1e9);
+
+            System.out.printf("%-14s %8.1f postagens/s   p50 %7.1f ms   p99 %7.1f ms%n",
+                    operacao, porSegundo, p50, p99);
+        }
+    }
+}
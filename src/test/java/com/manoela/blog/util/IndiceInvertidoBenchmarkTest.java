@@ -0,0 +1,111 @@
+package com.manoela.blog.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Benchmark do {@link IndiceInvertido} com um corpus sintético em português.
+ * <p>
+ * Mede a indexação (postagens por segundo), a latência p50 e p99 das consultas e o tempo para
+ * gravar e ler o índice. Não usa o banco nem o contexto Spring. Executado apenas com
+ * {@code -Dbenchmark=true}.
+ * </p>
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code benchmark.postagens} e {@code benchmark.consultas}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IndiceInvertidoBenchmarkTest {
+
+    private static final int POSTAGENS = Integer.getInteger("benchmark.postagens", 50_000);
+    private static final int CONSULTAS = Integer.getInteger("benchmark.consultas", 5_000);
+    private static final int PALAVRAS_POR_POSTAGEM = 150;
+    private static final int VOCABULARIO = 20_000;
+
+    @Test
+    void indexacaoConsultaEGravacao() throws Exception {
+        Random aleatorio = new Random(42);
+        String[] vocabulario = vocabulario(aleatorio);
+        IndiceInvertido indice = new IndiceInvertido("pt-BR");
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < POSTAGENS; i++) {
+            indice.indexar("p" + i, texto(aleatorio, vocabulario, 6), texto(aleatorio, vocabulario, PALAVRAS_POR_POSTAGEM));
+        }
+        double segundosIndexacao = (System.nanoTime() - inicio) / 1e9;
+
+        // Postagem com termos exclusivos, que deve ser sempre o primeiro resultado
+        indice.indexar("alvo", "Receita de pão de queijo mineiro", "Polvilho, queijo e ovos.");
+
+        long[] latencias = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String consulta = texto(aleatorio, vocabulario, 1 + aleatorio.nextInt(3));
+            long antes = System.nanoTime();
+            indice.buscar(consulta, 10);
+            latencias[i] = System.nanoTime() - antes;
+        }
+
+        inicio = System.nanoTime();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            indice.gravar(saida);
+        }
+        double msGravacao = (System.nanoTime() - inicio) / 1e6;
+
+        inicio = System.nanoTime();
+        IndiceInvertido lido = IndiceInvertido.ler(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        double msLeitura = (System.nanoTime() - inicio) / 1e6;
+
+        Arrays.sort(latencias);
+        System.out.printf("%n=== Benchmark do índice de busca: %d postagens ===%n", POSTAGENS);
+        System.out.printf("indexação      %8.0f postagens/s%n", POSTAGENS / segundosIndexacao);
+        System.out.printf("consulta       p50 %7.3f ms   p99 %7.3f ms%n",
+                latencias[(int) (CONSULTAS * 0.50)] / 1e6,
+                latencias[Math.min(CONSULTAS - 1, (int) (CONSULTAS * 0.99))] / 1e6);
+        System.out.printf("gravação       %8.1f ms (%.1f MB)   leitura %8.1f ms%n",
+                msGravacao, bytes.size() / 1e6, msLeitura);
+
+        List<IndiceInvertido.Resultado> resultados = lido.buscar("queijos mineiros", 5);
+        assertFalse(resultados.isEmpty());
+        assertEquals("alvo", resultados.get(0).postagemId());
+        assertEquals(indice.tamanho(), lido.tamanho());
+    }
+
+    /* ================= MÉTODOS PRIVADOS DE SUPORTE ================= */
+
+    private static String[] vocabulario(Random aleatorio) {
+        String[] palavras = new String[VOCABULARIO];
+        for (int i = 0; i < VOCABULARIO; i++) {
+            StringBuilder palavra = new StringBuilder();
+            int tamanho = 4 + aleatorio.nextInt(6);
+            for (int j = 0; j < tamanho; j++) {
+                palavra.append((char) ('a' + aleatorio.nextInt(26)));
+            }
+            palavras[i] = palavra.toString();
+        }
+        return palavras;
+    }
+
+    /**
+     * Sorteia palavras com distribuição aproximadamente Zipf, como em textos reais.
+     */
+    private static String texto(Random aleatorio, String[] vocabulario, int palavras) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            int posicao = (int) Math.min(vocabulario.length - 1, Math.exp(aleatorio.nextDouble() * Math.log(vocabulario.length)) - 1);
+            texto.append(vocabulario[posicao]).append(' ');
+        }
+        return texto.toString();
+    }
+}